@@ -0,0 +1,90 @@
+package com.example.taskmanagementapp.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous filter path (validate, then parse again to extract the subject, each time
+ * with a freshly decoded key and a new parser) with {@link JwtTokenVerifier}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET_KEY =
+            "MTBlYjk5NDAyNzRiYzEwYjVjYTIyMTY4M2EzNzlhYTExNzMwYWUzYjY0MzljYWFlY2Q0MWM3NTRkMzY0Y2Y4Nw==";
+
+    private String token;
+
+    private String tamperedToken;
+
+    private JwtParser jwtParser;
+
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @Setup
+    public void setUp() {
+        Key key = generateKey();
+        token = Jwts
+                .builder()
+                .setSubject("benchmark@example.com")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(key)
+                .compact();
+        char[] chars = token.toCharArray();
+        int signatureChar = chars.length - 10;
+        chars[signatureChar] = chars[signatureChar] == 'A' ? 'B' : 'A';
+        tamperedToken = new String(chars);
+
+        jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+        jwtTokenVerifier = new JwtTokenVerifier(key, 10_000, 1_000);
+    }
+
+    @Benchmark
+    public String legacyValidToken() {
+        Jwts.parserBuilder().setSigningKey(generateKey()).build().parseClaimsJws(token);
+        return Jwts.parserBuilder().setSigningKey(generateKey()).build().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public boolean legacyRejectedToken() {
+        try {
+            Jwts.parserBuilder().setSigningKey(generateKey()).build().parseClaimsJws(tamperedToken);
+            return true;
+        } catch (JwtException e) {
+            // the old path also printed the stack trace here, which is left out to keep the output readable
+            return false;
+        }
+    }
+
+    @Benchmark
+    public String singleParseValidToken() {
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String verifierValidToken() {
+        VerifiedToken verified = jwtTokenVerifier.verify(token);
+        return verified.subject();
+    }
+
+    @Benchmark
+    public VerifiedToken verifierRejectedToken() {
+        return jwtTokenVerifier.verify(tamperedToken);
+    }
+
+    private Key generateKey() {
+        byte[] decodedSecretKey = Decoders.BASE64.decode(SECRET_KEY);
+        return Keys.hmacShaKeyFor(decodedSecretKey);
+    }
+}
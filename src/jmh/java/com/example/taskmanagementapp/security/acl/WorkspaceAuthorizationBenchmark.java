@@ -0,0 +1,129 @@
+package com.example.taskmanagementapp.security.acl;
+
+import com.example.taskmanagementapp.security.UserPrincipal;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission.Access;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission.Source;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.acls.domain.DefaultPermissionFactory;
+import org.springframework.security.acls.domain.PermissionFactory;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the {@code @PreAuthorize} SpEL rule of a task endpoint with the same rule expressed as
+ * {@link WorkspacePermission}. Both paths share the task lookup and a permission evaluator that only compares
+ * masks, so the difference is the cost of evaluating the expression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WorkspaceAuthorizationBenchmark {
+
+    private static final long TASK_ID = 42L;
+
+    private Supplier<Authentication> authentication;
+
+    private PreAuthorizeAuthorizationManager spelManager;
+
+    private WorkspaceAuthorizationManager typedManager;
+
+    private MethodInvocation spelInvocation;
+
+    private MethodInvocation typedInvocation;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        UserPrincipal principal = new UserPrincipal(1L, "benchmark@example.com", null, 0,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        Authentication token = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        authentication = () -> token;
+
+        TaskLookup taskLookup = new TaskLookup();
+        PermissionEvaluator permissionEvaluator = new MaskPermissionEvaluator();
+
+        StaticApplicationContext applicationContext = new StaticApplicationContext();
+        applicationContext.getBeanFactory().registerSingleton("taskServiceImpl", taskLookup);
+        applicationContext.refresh();
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setPermissionEvaluator(permissionEvaluator);
+        expressionHandler.setApplicationContext(applicationContext);
+        spelManager = new PreAuthorizeAuthorizationManager();
+        spelManager.setExpressionHandler(expressionHandler);
+
+        typedManager = new WorkspaceAuthorizationManager(permissionEvaluator, taskLookup::findWorkspaceIdByTaskId);
+
+        TaskEndpoints endpoints = new TaskEndpoints();
+        spelInvocation = new SimpleMethodInvocation(endpoints,
+                TaskEndpoints.class.getMethod("spelUpdate", Long.class), TASK_ID);
+        typedInvocation = new SimpleMethodInvocation(endpoints,
+                TaskEndpoints.class.getMethod("typedUpdate", Long.class), TASK_ID);
+    }
+
+    @Benchmark
+    public AuthorizationDecision spelRule() {
+        return spelManager.check(authentication, spelInvocation);
+    }
+
+    @Benchmark
+    public AuthorizationDecision typedRule() {
+        return typedManager.check(authentication, typedInvocation);
+    }
+
+    public static class TaskEndpoints {
+
+        @PreAuthorize("hasPermission(@taskServiceImpl.findWorkspaceIdByTaskId(#id)," +
+                " 'com.example.taskmanagementapp.model.Workspace', 'WRITE')")
+        public void spelUpdate(Long id) {
+        }
+
+        @WorkspacePermission(value = Access.WRITE, source = Source.TASK_ID)
+        public void typedUpdate(Long id) {
+        }
+    }
+
+    public static class TaskLookup {
+
+        public Long findWorkspaceIdByTaskId(Long taskId) {
+            return taskId / 10;
+        }
+    }
+
+    /**
+     * Grants READ and WRITE on every workspace, resolving permissions the way {@link WorkspacePermissionEvaluator} does.
+     */
+    private static class MaskPermissionEvaluator implements PermissionEvaluator {
+
+        private static final int GRANTED_MASK = 0b11;
+
+        private final PermissionFactory permissionFactory = new DefaultPermissionFactory();
+
+        @Override
+        public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+            return false;
+        }
+
+        @Override
+        public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType,
+                                     Object permission) {
+            int required = permission instanceof Integer mask ? mask
+                    : permission instanceof Permission aclPermission ? aclPermission.getMask()
+                    : permissionFactory.buildFromName(permission.toString().toUpperCase()).getMask();
+            return (GRANTED_MASK & required) == required;
+        }
+    }
+}
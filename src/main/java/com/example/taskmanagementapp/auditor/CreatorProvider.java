@@ -1,16 +1,22 @@
 package com.example.taskmanagementapp.auditor;
 
 import com.example.taskmanagementapp.model.User;
+import com.example.taskmanagementapp.repository.UserRepository;
+import com.example.taskmanagementapp.security.UserPrincipal;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 
 public class CreatorProvider implements AuditorAware<User> {
 
+    private UserRepository userRepository;
+
+    public CreatorProvider(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
 
     @Override
     public Optional<User> getCurrentAuditor() {
@@ -19,9 +25,10 @@ public class CreatorProvider implements AuditorAware<User> {
         if (authentication == null
                 || !authentication.isAuthenticated()
                 || authentication instanceof AnonymousAuthenticationToken) {
-            return null;
+            return Optional.empty();
         }
 
-        return Optional.of(((User) authentication.getPrincipal()));
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return Optional.of(userRepository.getReferenceById(principal.getId()));
     }
 }
@@ -2,6 +2,7 @@ package com.example.taskmanagementapp.auditor.config;
 
 import com.example.taskmanagementapp.auditor.CreatorProvider;
 import com.example.taskmanagementapp.model.User;
+import com.example.taskmanagementapp.repository.UserRepository;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
@@ -12,8 +13,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 public class PersistenceContextConfig {
 
     @Bean
-    AuditorAware<User> creatorAuditorAware(){
-        return new CreatorProvider();
+    AuditorAware<User> creatorAuditorAware(UserRepository userRepository){
+        return new CreatorProvider(userRepository);
     }
 
 }
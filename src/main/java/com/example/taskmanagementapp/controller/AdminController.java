@@ -0,0 +1,42 @@
+package com.example.taskmanagementapp.controller;
+
+import com.example.taskmanagementapp.dto.AclCacheEntryDTO;
+import com.example.taskmanagementapp.dto.AclCacheStatsDTO;
+import com.example.taskmanagementapp.security.acl.AclCacheInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private AclCacheInspector aclCacheInspector;
+
+    @Autowired
+    public AdminController(AclCacheInspector aclCacheInspector) {
+        this.aclCacheInspector = aclCacheInspector;
+    }
+
+    @GetMapping("/acl-cache")
+    public ResponseEntity<AclCacheStatsDTO> getAclCacheStats() {
+        return ResponseEntity.ok(aclCacheInspector.getStats());
+    }
+
+    @DeleteMapping("/acl-cache")
+    public ResponseEntity<String> evictAclCache() {
+        aclCacheInspector.evictAll();
+        return ResponseEntity.ok("ACL cache was successfully cleared!");
+    }
+
+    @GetMapping("/acl-cache/workspaces/{id}")
+    public ResponseEntity<AclCacheEntryDTO> getWorkspaceAcl(@PathVariable(name = "id") Long id) {
+        return ResponseEntity.ok(aclCacheInspector.getWorkspaceEntry(id));
+    }
+
+    @DeleteMapping("/acl-cache/workspaces/{id}")
+    public ResponseEntity<String> evictWorkspaceAcl(@PathVariable(name = "id") Long id) {
+        aclCacheInspector.evictWorkspace(id);
+        return ResponseEntity.ok("Workspace ACL was successfully evicted!");
+    }
+}
@@ -4,11 +4,16 @@ import com.example.taskmanagementapp.dto.AccessTokenResponseDTO;
 import com.example.taskmanagementapp.dto.LoginRequestDTO;
 import com.example.taskmanagementapp.dto.RegisterRequestDTO;
 import com.example.taskmanagementapp.model.RefreshToken;
+import com.example.taskmanagementapp.security.UserPrincipal;
 import com.example.taskmanagementapp.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -16,6 +21,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/auth")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private AuthService authService;
 
     @Autowired
@@ -41,4 +48,20 @@ public class AuthController {
         return ResponseEntity.ok(accessTokenResponseDTO);
     }
 
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<String> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                         @RequestBody(required = false) RefreshToken refreshToken) {
+        String accessToken = authorization.startsWith(BEARER_PREFIX) ? authorization.substring(BEARER_PREFIX.length()) : null;
+        authService.logout(accessToken, refreshToken);
+        return ResponseEntity.ok("Logged out successfully!");
+    }
+
+    @PostMapping("/revoke-sessions")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<String> revokeSessions(@AuthenticationPrincipal UserPrincipal principal) {
+        authService.revokeSessions(principal.getId());
+        return ResponseEntity.ok("All sessions were revoked!");
+    }
+
 }
@@ -0,0 +1,78 @@
+package com.example.taskmanagementapp.controller;
+
+import com.example.taskmanagementapp.dto.OrganizationDTO;
+import com.example.taskmanagementapp.dto.WorkspaceDTO;
+import com.example.taskmanagementapp.dto.mappers.OrganizationMapper;
+import com.example.taskmanagementapp.dto.mappers.WorkspaceMapper;
+import com.example.taskmanagementapp.model.Organization;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission.Access;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission.Source;
+import com.example.taskmanagementapp.service.OrganizationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/organizations")
+public class OrganizationController {
+
+    private OrganizationService organizationService;
+
+    @Autowired
+    public OrganizationController(OrganizationService organizationService) {
+        this.organizationService = organizationService;
+    }
+
+    @PostMapping("/")
+    public ResponseEntity<OrganizationDTO> save(@RequestBody Organization organization) {
+        Organization savedOrganization = organizationService.save(organization);
+        return ResponseEntity.ok(OrganizationMapper.ORGANIZATION_MAPPER.organizationToOrganizationDTO(savedOrganization));
+    }
+
+    @WorkspacePermission(value = Access.READ, source = Source.ORGANIZATION_ID)
+    @GetMapping("/{id}")
+    public ResponseEntity<OrganizationDTO> findById(@PathVariable(name = "id") Long id) {
+        Organization organization = organizationService.findById(id);
+        return ResponseEntity.ok(OrganizationMapper.ORGANIZATION_MAPPER.organizationToOrganizationDTO(organization));
+    }
+
+    @WorkspacePermission(value = Access.ADMINISTRATION, argument = "organizationId", source = Source.ORGANIZATION_ID)
+    @WorkspacePermission(value = Access.ADMINISTRATION, argument = "workspaceId")
+    @PutMapping("/{organizationId}/workspaces/{workspaceId}")
+    public ResponseEntity<WorkspaceDTO> addWorkspace(@PathVariable(name = "organizationId") Long organizationId,
+                                                     @PathVariable(name = "workspaceId") Long workspaceId) {
+        Workspace workspace = organizationService.addWorkspace(organizationId, workspaceId);
+        return ResponseEntity.ok(WorkspaceMapper.WORKSPACE_MAPPER.workspaceToWorkspaceDTO(workspace));
+    }
+
+    @WorkspacePermission(value = Access.ADMINISTRATION, argument = "organizationId", source = Source.ORGANIZATION_ID)
+    @WorkspacePermission(value = Access.ADMINISTRATION, argument = "workspaceId")
+    @DeleteMapping("/{organizationId}/workspaces/{workspaceId}")
+    public ResponseEntity<WorkspaceDTO> removeWorkspace(@PathVariable(name = "organizationId") Long organizationId,
+                                                        @PathVariable(name = "workspaceId") Long workspaceId) {
+        Workspace workspace = organizationService.removeWorkspace(organizationId, workspaceId);
+        return ResponseEntity.ok(WorkspaceMapper.WORKSPACE_MAPPER.workspaceToWorkspaceDTO(workspace));
+    }
+
+    @WorkspacePermission(value = Access.ADMINISTRATION, argument = "organizationId", source = Source.ORGANIZATION_ID)
+    @PostMapping("/{organizationId}/users/{userId}/permissions")
+    public ResponseEntity<String> addPermissionsForUserInOrganization(@PathVariable(name = "organizationId") Long organizationId,
+                                                                      @PathVariable(name = "userId") Long userId,
+                                                                      @RequestBody List<String> permissions) {
+        organizationService.addPermissionsForUserInOrganization(organizationId, userId, permissions);
+        return ResponseEntity.ok("Permissions was successfully granted!");
+    }
+
+    @WorkspacePermission(value = Access.ADMINISTRATION, argument = "organizationId", source = Source.ORGANIZATION_ID)
+    @DeleteMapping("/{organizationId}/users/{userId}/permissions")
+    public ResponseEntity<String> removePermissionsForUserInOrganization(@PathVariable(name = "organizationId") Long organizationId,
+                                                                         @PathVariable(name = "userId") Long userId,
+                                                                         @RequestBody List<String> permissions) {
+        organizationService.removePermissionsForUserInOrganization(organizationId, userId, permissions);
+        return ResponseEntity.ok("Permissions was successfully removed!");
+    }
+}
@@ -3,23 +3,33 @@ package com.example.taskmanagementapp.controller;
 import com.example.taskmanagementapp.dto.TaskDTO;
 import com.example.taskmanagementapp.dto.mappers.TaskMapper;
 import com.example.taskmanagementapp.model.Task;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission.Access;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission.Source;
 import com.example.taskmanagementapp.service.TaskService;
 import com.example.taskmanagementapp.service.UserService;
 import com.example.taskmanagementapp.service.WorkspaceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PostAuthorize;
-import org.springframework.security.access.prepost.PostFilter;
-import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.access.prepost.PreFilter;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/tasks")
 public class TaskController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "title", "status", "creationDate", "deadlineDate");
+
     private TaskService taskService;
 
 
@@ -30,53 +40,74 @@ public class TaskController {
         this.taskService = taskService;
         this.userServiceImpl = userServiceImpl;
     }
-    @PreAuthorize("hasPermission(#id, 'com.example.taskmanagementapp.model.Workspace', 'READ')")
+    @GetMapping("/")
+    public ResponseEntity<List<TaskDTO>> findAll(@RequestParam(name = "status", required = false) String status,
+                                                 @RequestParam(name = "deadlineFrom", required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date deadlineFrom,
+                                                 @RequestParam(name = "deadlineTo", required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date deadlineTo,
+                                                 @RequestParam(name = "page", defaultValue = "0") int page,
+                                                 @RequestParam(name = "size", defaultValue = "20") int size,
+                                                 @RequestParam(name = "sort", defaultValue = "id") String sort,
+                                                 @RequestParam(name = "direction", defaultValue = "ASC") Sort.Direction direction,
+                                                 @RequestParam(name = "after", required = false) Long after) {
+        String sortProperty = SORTABLE_PROPERTIES.contains(sort) ? sort : "id";
+        Sort order = Sort.by(direction, sortProperty).and(Sort.by("id"));
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Task> tasks = taskService.findCreatedTasks(status, deadlineFrom, deadlineTo, after,
+                PageRequest.of(Math.max(page, 0), pageSize, order));
+        List<TaskDTO> taskDTOS = TaskMapper.TASK_MAPPER.tasksToTaskDTOs(tasks);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        boolean idOrdered = "id".equals(sortProperty) && direction.isAscending();
+        if (idOrdered && tasks.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(tasks.get(tasks.size() - 1).getId()));
+        }
+        return response.body(taskDTOS);
+    }
+
+    @WorkspacePermission(Access.READ)
     @GetMapping("/workspace/{id}")
     public ResponseEntity<List<TaskDTO>> findByWorkspaceId(@PathVariable(name = "id") Long id) {
         List<Task> tasks = taskService.findByWorkspaceId(id);
         List<TaskDTO> taskDTOS = TaskMapper.TASK_MAPPER.tasksToTaskDTOs(tasks);
         return ResponseEntity.ok(taskDTOS);
     }
-    @PreAuthorize("hasPermission(@taskServiceImpl.findById(#id).workspace.id, 'com.example.taskmanagementapp.model.Workspace', 'READ')")
+    @WorkspacePermission(value = Access.READ, source = Source.TASK_ID)
     @GetMapping("/{id}")
     public ResponseEntity<TaskDTO> findById(@PathVariable(name = "id") Long id) {
         Task task = taskService.findById(id);
         TaskDTO taskDTO = TaskMapper.TASK_MAPPER.taskToTaskDTO(task);
         return ResponseEntity.ok(taskDTO);
     }
-    @PreAuthorize("hasPermission(@workspaceServiceImpl.findByTasksId(#id).id," +
-            " 'com.example.taskmanagementapp.model.Workspace', 'WRITE')")
+    @WorkspacePermission(value = Access.WRITE, source = Source.TASK_ID)
     @PatchMapping("/{id}")
     public ResponseEntity<TaskDTO> update(@PathVariable(name = "id") Long id, @RequestBody Task task) {
         Task task1 = taskService.update(task, id);
         TaskDTO taskDTO = TaskMapper.TASK_MAPPER.taskToTaskDTO(task1);
         return ResponseEntity.ok(taskDTO);
     }
-    @PostAuthorize("hasPermission(#task.workspace.id, 'com.example.taskmanagementapp.model.Workspace', 'CREATE')")
+    @WorkspacePermission(value = Access.CREATE, source = Source.TASK, argument = "task")
     @PostMapping("/")
     public ResponseEntity<TaskDTO> save(@RequestBody Task task) {
         Task task1 = taskService.save(task);
         TaskDTO taskDTO = TaskMapper.TASK_MAPPER.taskToTaskDTO(task1);
         return ResponseEntity.ok(taskDTO);
     }
-    @PreAuthorize("hasPermission(@workspaceServiceImpl.findByTasksId(#id).id, " +
-            "'com.example.taskmanagementapp.model.Workspace', 'WRITE')")
+    @WorkspacePermission(value = Access.WRITE, source = Source.TASK_ID)
     @PatchMapping("/{id}/users")
     public ResponseEntity<TaskDTO> addPerformersToTask(@PathVariable("id") Long id, @RequestBody List<Long> userIds) {
         Task task = taskService.addPerformersToTask(id, userIds);
         TaskDTO taskDTO = TaskMapper.TASK_MAPPER.taskToTaskDTO(task);
         return ResponseEntity.ok(taskDTO);
     }
-    @PreAuthorize("hasPermission(@workspaceServiceImpl.findByTasksId(#id).id," +
-            "'com.example.taskmanagementapp.model.Workspace', 'WRITE')")
+    @WorkspacePermission(value = Access.WRITE, source = Source.TASK_ID)
     @PatchMapping("/{id}/users/{userId}")
     public ResponseEntity<TaskDTO> removePerformerFromTask(@PathVariable("id") Long id, @PathVariable("userId") Long performerId) {
         Task task = taskService.removePerformerFromTask(id, performerId);
         TaskDTO taskDTO = TaskMapper.TASK_MAPPER.taskToTaskDTO(task);
         return ResponseEntity.ok(taskDTO);
     }
-    @PreAuthorize("hasPermission(@workspaceServiceImpl.findByTasksId(#id).id," +
-            "'com.example.taskmanagementapp.model.Workspace', 'DELETE')")
+    @WorkspacePermission(value = Access.DELETE, source = Source.TASK_ID)
     @DeleteMapping("/{id}")
     public ResponseEntity<TaskDTO> deleteById(@PathVariable(name = "id") Long id) {
         Task task1 = taskService.deleteById(id);
@@ -3,11 +3,13 @@ package com.example.taskmanagementapp.controller;
 import com.example.taskmanagementapp.dto.UserDTO;
 import com.example.taskmanagementapp.dto.mappers.UserMapper;
 import com.example.taskmanagementapp.model.User;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission.Access;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission.Source;
 import com.example.taskmanagementapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PostAuthorize;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
@@ -47,7 +49,7 @@ public class UserController {
         return ResponseEntity.ok(userDTOS);
     }
 
-    @PreAuthorize("hasPermission(#id, 'com.example.taskmanagementapp.model.Workspace', 'READ')")
+    @WorkspacePermission(value = Access.READ, source = Source.TASK_ID)
     @GetMapping("/task/{id}")
     public ResponseEntity<List<UserDTO>> findUsersByTaskId(@PathVariable("id") Long id) {
         List<User> users = userService.findUsersByTasksId(id);
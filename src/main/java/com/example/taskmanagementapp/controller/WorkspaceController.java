@@ -1,14 +1,20 @@
 package com.example.taskmanagementapp.controller;
 
+import com.example.taskmanagementapp.dto.MembershipImportRequestDTO;
+import com.example.taskmanagementapp.dto.MembershipImportResultDTO;
 import com.example.taskmanagementapp.dto.WorkspaceDTO;
 import com.example.taskmanagementapp.dto.mappers.WorkspaceMapper;
 import com.example.taskmanagementapp.model.User;
 import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.model.WorkspaceRole;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission.Access;
 import com.example.taskmanagementapp.service.WorkspaceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PostFilter;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.acls.domain.BasePermission;
 import org.springframework.security.acls.domain.ObjectIdentityImpl;
 import org.springframework.security.acls.domain.PrincipalSid;
@@ -16,29 +22,48 @@ import org.springframework.security.acls.jdbc.JdbcMutableAclService;
 import org.springframework.security.acls.model.MutableAcl;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("/workspaces")
 public class WorkspaceController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     public WorkspaceService workspaceService;
 
     private JdbcMutableAclService jdbcMutableAclService;
 
+    private ObjectMapper objectMapper;
+
+    @Value("${workspace.membership.import.chunk.size}")
+    private int importChunkSize;
+
     @Autowired
-    public WorkspaceController(WorkspaceService workspaceService, JdbcMutableAclService jdbcMutableAclService) {
+    public WorkspaceController(WorkspaceService workspaceService, JdbcMutableAclService jdbcMutableAclService,
+                               ObjectMapper objectMapper) {
         this.workspaceService = workspaceService;
         this.jdbcMutableAclService = jdbcMutableAclService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/")
-    public ResponseEntity<List<WorkspaceDTO>> findAll() {
-        List<Workspace> workspaces = workspaceService.findAll();
+    public ResponseEntity<List<WorkspaceDTO>> findAll(@RequestParam(name = "page", defaultValue = "0") int page,
+                                                      @RequestParam(name = "size", defaultValue = "20") int size,
+                                                      @RequestParam(name = "after", required = false) Long after) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Workspace> workspaces = workspaceService.findReadable(after, Math.max(page, 0), pageSize);
         List<WorkspaceDTO> workspaceDTOS = WorkspaceMapper.WORKSPACE_MAPPER.workspacesToWorkspaceDTOs(workspaces);
-        return ResponseEntity.ok(workspaceDTOS);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (workspaces.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(workspaces.get(workspaces.size() - 1).getId()));
+        }
+        return response.body(workspaceDTOS);
     }
 
     @GetMapping("/{id}")
@@ -55,7 +80,7 @@ public class WorkspaceController {
         return ResponseEntity.ok(workspaceDTO);
     }
 
-    @PreAuthorize("hasPermission(#id, 'com.example.taskmanagementapp.model.Workspace', 'ADMINISTRATION')")
+    @WorkspacePermission(Access.ADMINISTRATION)
     @PostMapping("/{id}/users")
     public ResponseEntity<WorkspaceDTO> addUsersToWorkspace(@PathVariable("id") Long id, @RequestBody List<Long> userIds) {
         Workspace workspace = workspaceService.addUsersToWorkspace(id, userIds);
@@ -63,7 +88,34 @@ public class WorkspaceController {
         return ResponseEntity.ok(workspaceDTO);
     }
 
-    @PreAuthorize("hasPermission(#id, 'com.example.taskmanagementapp.model.Workspace', 'WRITE')")
+    @WorkspacePermission(Access.ADMINISTRATION)
+    @PostMapping("/{id}/members/import")
+    public ResponseEntity<List<MembershipImportResultDTO>> importMembers(@PathVariable("id") Long id,
+                                                                         @RequestBody MembershipImportRequestDTO request) {
+        return ResponseEntity.ok(workspaceService.importMembers(id, request));
+    }
+
+    /**
+     * Imports in chunks, each committed on its own, and writes one NDJSON result line per item as soon as
+     * its chunk is committed. A failing chunk ends the stream; the chunks before it stay imported.
+     */
+    @WorkspacePermission(Access.ADMINISTRATION)
+    @PostMapping(value = "/{id}/members/import/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMemberImport(@PathVariable("id") Long id,
+                                                                    @RequestBody MembershipImportRequestDTO request) {
+        StreamingResponseBody body = outputStream -> {
+            for (MembershipImportRequestDTO chunk : chunks(request)) {
+                for (MembershipImportResultDTO result : workspaceService.importMembers(id, chunk)) {
+                    outputStream.write(objectMapper.writeValueAsBytes(result));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @WorkspacePermission(Access.WRITE)
     @PatchMapping("/{id}")
     public ResponseEntity<WorkspaceDTO> update(@PathVariable("id") Long id, @RequestBody Workspace workspace) {
         Workspace workspace1 = workspaceService.update(workspace, id);
@@ -71,7 +123,7 @@ public class WorkspaceController {
         return ResponseEntity.ok(workspaceDTO);
     }
 
-    @PreAuthorize("hasPermission(#id, 'com.example.taskmanagementapp.model.Workspace', 'ADMINISTRATION')")
+    @WorkspacePermission(Access.ADMINISTRATION)
     @PatchMapping("/{id}/users/{userId}")
     public ResponseEntity<WorkspaceDTO> removeUserFromWorkspace(@PathVariable("id") Long id, @PathVariable("userId") Long userId) {
         Workspace workspace = workspaceService.removeUserFromWorkspace(id, userId);
@@ -79,7 +131,16 @@ public class WorkspaceController {
         return ResponseEntity.ok(workspaceDTO);
     }
 
-    @PreAuthorize("hasPermission(#id, 'com.example.taskmanagementapp.model.Workspace', 'ADMINISTRATION')")
+    @WorkspacePermission(value = Access.ADMINISTRATION, argument = "workspaceId")
+    @PutMapping("/{workspaceId}/users/{userId}/role")
+    public ResponseEntity<String> changeMemberRole(@PathVariable(name = "workspaceId") Long workspaceId,
+                                                   @PathVariable(name = "userId") Long userId,
+                                                   @RequestParam(name = "role") WorkspaceRole role) {
+        workspaceService.changeMemberRole(workspaceId, userId, role);
+        return ResponseEntity.ok("Role was successfully changed!");
+    }
+
+    @WorkspacePermission(Access.ADMINISTRATION)
     @DeleteMapping("/{id}")
     public ResponseEntity<WorkspaceDTO> deleteById(@PathVariable(name = "id") Long id) {
         Workspace workspace = workspaceService.deleteById(id);
@@ -87,7 +148,7 @@ public class WorkspaceController {
         return ResponseEntity.ok(workspaceDTO);
     }
 
-    @PreAuthorize("hasPermission(#workspaceId, 'com.example.taskmanagementapp.model.Workspace', 'ADMINISTRATION')")
+    @WorkspacePermission(value = Access.ADMINISTRATION, argument = "workspaceId")
     @PostMapping("/{workspaceId}/users/{userId}/permissions")
     public ResponseEntity<String> addPermissionsForUserInWorkspace(@PathVariable(name = "workspaceId") Long workspaceId,
                                                                    @PathVariable(name = "userId") Long userId,
@@ -95,7 +156,7 @@ public class WorkspaceController {
         workspaceService.addPermissionsForUserInWorkspace(workspaceId, userId, permissions);
         return ResponseEntity.ok("Permissions was successfully granted!");
     }
-    @PreAuthorize("hasPermission(#workspaceId, 'com.example.taskmanagementapp.model.Workspace', 'ADMINISTRATION')")
+    @WorkspacePermission(value = Access.ADMINISTRATION, argument = "workspaceId")
     @DeleteMapping("/{workspaceId}/users/{userId}/permissions")
     public ResponseEntity<String> removePermissionsForUserInWorkspace(@PathVariable(name = "workspaceId") Long workspaceId,
                                                                    @PathVariable(name = "userId") Long userId,
@@ -104,5 +165,23 @@ public class WorkspaceController {
         return ResponseEntity.ok("Permissions was successfully removed!");
     }
 
-
+    private List<MembershipImportRequestDTO> chunks(MembershipImportRequestDTO request) {
+        int chunkSize = Math.max(1, importChunkSize);
+        List<MembershipImportRequestDTO> chunks = new ArrayList<>();
+        List<Long> userIds = request.getUserIds();
+        for (int from = 0; from < userIds.size(); from += chunkSize) {
+            chunks.add(MembershipImportRequestDTO.builder()
+                    .userIds(userIds.subList(from, Math.min(from + chunkSize, userIds.size())))
+                    .emails(List.of())
+                    .build());
+        }
+        List<String> emails = request.getEmails();
+        for (int from = 0; from < emails.size(); from += chunkSize) {
+            chunks.add(MembershipImportRequestDTO.builder()
+                    .userIds(List.of())
+                    .emails(emails.subList(from, Math.min(from + chunkSize, emails.size())))
+                    .build());
+        }
+        return chunks;
+    }
 }
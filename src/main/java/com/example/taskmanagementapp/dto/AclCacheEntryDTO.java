@@ -0,0 +1,19 @@
+package com.example.taskmanagementapp.dto;
+
+import lombok.*;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class AclCacheEntryDTO {
+
+    private Long workspaceId;
+
+    private boolean cached;
+
+    private int entries;
+
+    private String owner;
+}
@@ -0,0 +1,27 @@
+package com.example.taskmanagementapp.dto;
+
+import lombok.*;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class AclCacheStatsDTO {
+
+    private long estimatedSize;
+
+    private long weightedSize;
+
+    private long maximumWeight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRatio;
+
+    private long evictionCount;
+
+    private long evictionWeight;
+}
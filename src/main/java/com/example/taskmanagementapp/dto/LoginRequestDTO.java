@@ -9,4 +9,5 @@ public class LoginRequestDTO {
 
     private String email;
     private String password;
+    private String deviceId;
 }
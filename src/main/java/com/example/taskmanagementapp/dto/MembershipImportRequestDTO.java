@@ -0,0 +1,25 @@
+package com.example.taskmanagementapp.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class MembershipImportRequestDTO {
+
+    private List<Long> userIds;
+
+    private List<String> emails;
+
+    public List<Long> getUserIds() {
+        return userIds != null ? userIds : List.of();
+    }
+
+    public List<String> getEmails() {
+        return emails != null ? emails : List.of();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.taskmanagementapp.dto;
+
+import lombok.*;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class MembershipImportResultDTO {
+
+    private String item;
+
+    private Long userId;
+
+    private Status status;
+
+    public enum Status {
+        ADDED,
+        ALREADY_MEMBER,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.taskmanagementapp.dto;
+
+import lombok.*;
+
+import java.util.Date;
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class OrganizationDTO {
+
+    private Long id;
+
+    private String name;
+
+    private Date creationDate;
+
+    private Date lastModifiedDate;
+
+    private UserDTO creator;
+
+}
@@ -28,4 +28,6 @@ public class WorkspaceDTO {
 
     private UserDTO creator;
 
+    private Long organizationId;
+
 }
@@ -0,0 +1,16 @@
+package com.example.taskmanagementapp.dto.mappers;
+
+import com.example.taskmanagementapp.dto.OrganizationDTO;
+import com.example.taskmanagementapp.model.Organization;
+import org.mapstruct.Builder;
+import org.mapstruct.Mapper;
+import org.mapstruct.factory.Mappers;
+
+@Mapper(builder = @Builder(disableBuilder = true))
+public interface OrganizationMapper {
+
+    OrganizationMapper ORGANIZATION_MAPPER = Mappers.getMapper(OrganizationMapper.class);
+
+    OrganizationDTO organizationToOrganizationDTO(Organization organization);
+
+}
@@ -17,6 +17,7 @@ public interface UserMapper {
     List<UserDTO>usersToUserDTOs(List<User>user);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "tokenVersion", ignore = true)
     @Mapping(target = "authorities", expression = "java(user.getAuthorities())", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateUser(User updatedUser, @MappingTarget User user);
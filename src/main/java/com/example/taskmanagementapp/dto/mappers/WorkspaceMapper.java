@@ -12,11 +12,13 @@ public interface WorkspaceMapper {
 
     WorkspaceMapper WORKSPACE_MAPPER = Mappers.getMapper(WorkspaceMapper.class);
 
+    @Mapping(target = "organizationId", source = "organization.id")
     WorkspaceDTO workspaceToWorkspaceDTO(Workspace workspace);
 
     List<WorkspaceDTO>workspacesToWorkspaceDTOs(List<Workspace> workspaces);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "organization", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateWorkspace(Workspace updatedWorkspace, @MappingTarget Workspace workspace);
 
@@ -0,0 +1,17 @@
+package com.example.taskmanagementapp.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after a user's data, credentials or roles changed, or the user was deleted.
+ * Carries the email the user had before the change, since security caches are keyed by it.
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+
+    private Long userId;
+
+    private String email;
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanagementapp.exception;
+
+public class OrganizationNotFoundException extends RuntimeException{
+
+    public OrganizationNotFoundException(String message) {
+        super(message);
+    }
+}
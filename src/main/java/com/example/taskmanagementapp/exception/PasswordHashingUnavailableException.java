@@ -0,0 +1,10 @@
+package com.example.taskmanagementapp.exception;
+
+import org.springframework.security.core.AuthenticationException;
+
+public class PasswordHashingUnavailableException extends AuthenticationException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.taskmanagementapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.util.Date;
+
+/**
+ * Groups workspaces. The ACL of every workspace in an organization has the organization's ACL as its parent,
+ * so an entry granted on the organization applies to all of its workspaces.
+ */
+@Entity
+@Table(name = "organizations")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+@EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+public class Organization {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @CreatedDate
+    @Column(name = "creation_date")
+    private Date creationDate;
+
+    @LastModifiedDate
+    @Column(name = "last_modified_date")
+    private Date lastModifiedDate;
+
+    @ManyToOne
+    @CreatedBy
+    @JoinColumn(name = "creator_id", referencedColumnName = "id")
+    private User creator;
+}
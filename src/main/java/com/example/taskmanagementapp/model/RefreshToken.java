@@ -2,10 +2,17 @@ package com.example.taskmanagementapp.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.util.Date;
 
 @Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_expiration", columnList = "expiration_date"),
+        @Index(name = "idx_refresh_token_family", columnList = "family_id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
@@ -17,12 +24,29 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * The raw token; only known when it is issued or presented, the table stores its hash.
+     */
+    @Transient
     private String token;
 
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "device_id")
+    private String deviceId;
+
     @Column(name = "expiration_date")
     private Date expirationDate;
 
-    @OneToOne
-    @JoinColumn(name = "user_id", referencedColumnName = "id")
+    @Column(nullable = false)
+    private boolean rotated;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 }
@@ -0,0 +1,23 @@
+package com.example.taskmanagementapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+@Entity
+@Table(name = "revoked_access_token", indexes = @Index(name = "idx_revoked_access_token_expiration", columnList = "expires_at"))
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class RevokedAccessToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Date expiresAt;
+}
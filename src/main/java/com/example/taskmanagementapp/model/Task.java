@@ -11,7 +11,7 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = @Index(name = "idx_tasks_creator_id", columnList = "creator_id, id"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -38,6 +38,9 @@ public class User implements UserDetails {
 
     private String password;
 
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @CreatedDate
     @Column(name = "creation_date")
     private Date creationDate;
@@ -45,6 +45,10 @@ public class Workspace {
     @OneToMany(mappedBy = "workspace", cascade = CascadeType.ALL)
     private List<Task> tasks;
 
+    @ManyToOne
+    @JoinColumn(name = "organization_id", referencedColumnName = "id")
+    private Organization organization;
+
     @ManyToOne
     @CreatedBy
     @JoinColumn(name = "creator_id", referencedColumnName = "id")
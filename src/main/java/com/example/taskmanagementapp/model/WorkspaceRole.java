@@ -0,0 +1,56 @@
+package com.example.taskmanagementapp.model;
+
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.CumulativePermission;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.model.Permission;
+
+/**
+ * Role of a member within one workspace. Each workspace ACL holds a single entry per role, granted to the
+ * role's group sid {@code WORKSPACE_<workspaceId>_<ROLE>} with the combined mask of the role's permissions,
+ * so the ACL size does not depend on the number of members.
+ */
+public enum WorkspaceRole {
+
+    VIEWER(BasePermission.READ),
+    EDITOR(BasePermission.READ, BasePermission.CREATE, BasePermission.WRITE),
+    ADMIN(BasePermission.READ, BasePermission.CREATE, BasePermission.WRITE, BasePermission.DELETE,
+            BasePermission.ADMINISTRATION);
+
+    public static final String SID_PREFIX = "WORKSPACE_";
+
+    private final Permission permission;
+
+    WorkspaceRole(Permission... permissions) {
+        CumulativePermission cumulativePermission = new CumulativePermission();
+        for (Permission permission : permissions) {
+            cumulativePermission.set(permission);
+        }
+        this.permission = cumulativePermission;
+    }
+
+    public Permission getPermission() {
+        return permission;
+    }
+
+    public GrantedAuthoritySid sid(long workspaceId) {
+        return new GrantedAuthoritySid(SID_PREFIX + workspaceId + "_" + name());
+    }
+
+    /**
+     * @return the role the sid stands for in the given workspace, or {@code null} if it is not one of its role sids
+     */
+    public static WorkspaceRole fromSid(long workspaceId, String sid) {
+        String prefix = SID_PREFIX + workspaceId + "_";
+        if (sid == null || !sid.startsWith(prefix)) {
+            return null;
+        }
+        String name = sid.substring(prefix.length());
+        for (WorkspaceRole role : values()) {
+            if (role.name().equals(name)) {
+                return role;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.taskmanagementapp.repository;
+
+import com.example.taskmanagementapp.model.Organization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrganizationRepository extends JpaRepository<Organization, Long> {
+}
@@ -0,0 +1,26 @@
+package com.example.taskmanagementapp.repository;
+
+import com.example.taskmanagementapp.model.RevokedAccessToken;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    long countByExpiresAtAfter(Date now);
+
+    @Query("select r.jti from RevokedAccessToken r where r.expiresAt > :now")
+    List<String> findActiveJtis(@Param("now") Date now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedAccessToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Date now);
+}
@@ -1,6 +1,9 @@
 package com.example.taskmanagementapp.repository;
 
 import com.example.taskmanagementapp.model.Role;
+import com.example.taskmanagementapp.security.config.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +12,14 @@ import java.util.Optional;
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
+    @Cacheable(cacheNames = CacheConfig.ROLES_CACHE, key = "#p0")
     Optional<Role>findByName(String name);
+
+    @CacheEvict(cacheNames = CacheConfig.ROLES_CACHE, allEntries = true)
+    @Override
+    <S extends Role> S save(S entity);
+
+    @CacheEvict(cacheNames = CacheConfig.ROLES_CACHE, allEntries = true)
+    @Override
+    void delete(Role entity);
 }
@@ -1,15 +1,59 @@
 package com.example.taskmanagementapp.repository;
 
 import com.example.taskmanagementapp.model.Task;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
     List<Task> findByWorkspaceId(Long id);
 
+    @Query("SELECT t.workspace.id FROM Task t WHERE t.id = :taskId")
+    Optional<Long> findWorkspaceIdById(@Param("taskId") Long taskId);
+
+    /**
+     * Lists the tasks created by one user with the filters applied in the database. Creator and workspace are
+     * fetched in the same statement; {@code afterId} is a keyset cursor and only meaningful with id ordering.
+     */
+    @Query("""
+            SELECT t FROM Task t
+            JOIN FETCH t.creator
+            LEFT JOIN FETCH t.workspace
+            WHERE t.creator.id = :creatorId AND t.id > :afterId
+              AND (:status IS NULL OR t.status = :status)
+              AND (:deadlineFrom IS NULL OR t.deadlineDate >= :deadlineFrom)
+              AND (:deadlineTo IS NULL OR t.deadlineDate <= :deadlineTo)""")
+    List<Task> findByCreator(@Param("creatorId") Long creatorId, @Param("afterId") long afterId,
+                             @Param("status") String status, @Param("deadlineFrom") Date deadlineFrom,
+                             @Param("deadlineTo") Date deadlineTo, Pageable pageable);
+
+    /**
+     * Adds the users as performers of the task in one statement, skipping those who already are. A loaded task
+     * does not see the change until it is refreshed.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO users_tasks (task_id, user_id)
+            SELECT :taskId, u.id FROM users u
+            LEFT JOIN users_tasks ut ON ut.task_id = :taskId AND ut.user_id = u.id
+            WHERE u.id IN (:userIds) AND ut.user_id IS NULL""", nativeQuery = true)
+    int addPerformers(@Param("taskId") Long taskId, @Param("userIds") Collection<Long> userIds);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM users_tasks WHERE task_id = :taskId AND user_id = :userId", nativeQuery = true)
+    int removePerformer(@Param("taskId") Long taskId, @Param("userId") Long userId);
+
 }
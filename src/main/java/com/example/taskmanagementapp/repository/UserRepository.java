@@ -2,8 +2,11 @@ package com.example.taskmanagementapp.repository;
 
 import com.example.taskmanagementapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,12 +17,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByEmail(String email);
 
-    List<User> findUsersByWorkspacesId(Long id);
-
     List<User>findUsersByTasksId(Long id);
 
-    Boolean existsByEmailAndWorkspacesId(String email, Long workspaceId);
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Query("select u.id, u.email from User u where u.email in :emails")
+    List<Object[]> findIdsByEmails(@Param("emails") Collection<String> emails);
 
+    @Query("select u.id, u.email from User u where u.id in :ids")
+    List<Object[]> findEmailsByIds(@Param("ids") Collection<Long> ids);
 
 
 }
@@ -0,0 +1,363 @@
+package com.example.taskmanagementapp.repository;
+
+import com.example.taskmanagementapp.util.CompressedBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code users_workspaces} join table held in memory twice, as a {@link CompressedBitmap} of member ids per
+ * workspace and of workspace ids per user, so membership checks, member listings and intersections with a set
+ * of users need no query. Readers never lock: every change publishes new bitmaps, writers are serialized.
+ * <p>
+ * Changes made inside a transaction are recorded with it and only published once it has committed; until then
+ * the transaction itself reads them on top of the published bitmaps, and a rollback just drops them. The initial
+ * load holds the writer lock while it scans, so a change committed meanwhile is applied on top of the loaded
+ * state rather than overwritten by it. Memberships written around the services are not seen. Until the initial
+ * load, and for good if an id does not fit an unsigned 32-bit int, every call is answered from the table instead.
+ */
+@Component
+public class WorkspaceMembershipIndex {
+
+    private static final long MAX_ID = 0xFFFFFFFFL;
+
+    private static final String MEMBERSHIPS_QUERY = "SELECT workspace_id, user_id FROM users_workspaces";
+
+    private static final String MEMBERS_QUERY = "SELECT user_id FROM users_workspaces WHERE workspace_id = ?";
+
+    private JdbcTemplate jdbcTemplate;
+
+    private WorkspaceMembershipRepository membershipRepository;
+
+    private final Map<Long, CompressedBitmap> membersByWorkspace = new ConcurrentHashMap<>();
+
+    private final Map<Long, CompressedBitmap> workspacesByUser = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    @Autowired
+    public WorkspaceMembershipIndex(JdbcTemplate jdbcTemplate, WorkspaceMembershipRepository membershipRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.membershipRepository = membershipRepository;
+    }
+
+    public boolean isMember(long userId, long workspaceId) {
+        if (!loaded) {
+            return !membershipRepository.findMemberIds(workspaceId, List.of(userId)).isEmpty();
+        }
+        return fits(userId) && visibleMembers(workspaceId).contains((int) userId);
+    }
+
+    /**
+     * @return the given users that are members of the workspace
+     */
+    public Set<Long> findMemberIds(long workspaceId, Collection<Long> userIds) {
+        if (!loaded) {
+            return membershipRepository.findMemberIds(workspaceId, userIds);
+        }
+        CompressedBitmap members = visibleMembers(workspaceId);
+        Set<Long> memberIds = new LinkedHashSet<>();
+        if (userIds.size() > members.cardinality()) {
+            CompressedBitmap candidates = CompressedBitmap.of(userIds.stream()
+                    .filter(WorkspaceMembershipIndex::fits).mapToInt(Long::intValue).toArray());
+            members.and(candidates).forEach(userId -> memberIds.add(Integer.toUnsignedLong(userId)));
+        } else {
+            userIds.stream().filter(userId -> fits(userId) && members.contains(userId.intValue()))
+                    .forEach(memberIds::add);
+        }
+        return memberIds;
+    }
+
+    /**
+     * @return every member of the workspace, in ascending order
+     */
+    public Set<Long> findMemberIds(long workspaceId) {
+        if (!loaded) {
+            return new LinkedHashSet<>(jdbcTemplate.queryForList(MEMBERS_QUERY, Long.class, workspaceId));
+        }
+        Set<Long> memberIds = new LinkedHashSet<>();
+        visibleMembers(workspaceId).forEach(userId -> memberIds.add(Integer.toUnsignedLong(userId)));
+        return memberIds;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Map<Long, List<Long>> members = new HashMap<>();
+        Map<Long, List<Long>> workspaces = new HashMap<>();
+        boolean[] fits = {true};
+        jdbcTemplate.query(MEMBERSHIPS_QUERY, rs -> {
+            long workspaceId = rs.getLong(1);
+            long userId = rs.getLong(2);
+            fits[0] &= fits(workspaceId) && fits(userId);
+            members.computeIfAbsent(workspaceId, id -> new ArrayList<>()).add(userId);
+            workspaces.computeIfAbsent(userId, id -> new ArrayList<>()).add(workspaceId);
+        });
+        membersByWorkspace.clear();
+        workspacesByUser.clear();
+        if (!fits[0]) {
+            loaded = false;
+            return;
+        }
+        members.forEach((workspaceId, userIds) -> membersByWorkspace.put(workspaceId, bitmap(userIds)));
+        workspaces.forEach((userId, workspaceIds) -> workspacesByUser.put(userId, bitmap(workspaceIds)));
+        loaded = true;
+    }
+
+    /**
+     * Records members that were just written in the surrounding transaction.
+     */
+    public void addMembers(long workspaceId, Collection<Long> userIds) {
+        record(new AddMembers(workspaceId, List.copyOf(userIds)));
+    }
+
+    public void removeMember(long workspaceId, long userId) {
+        record(new RemoveMember(workspaceId, userId));
+    }
+
+    public void removeWorkspace(long workspaceId) {
+        record(new RemoveWorkspace(workspaceId));
+    }
+
+    public void removeUser(long userId) {
+        record(new RemoveUser(userId));
+    }
+
+    /**
+     * @return the members of the workspace as the current transaction sees them
+     */
+    private CompressedBitmap visibleMembers(long workspaceId) {
+        CompressedBitmap members = members(workspaceId);
+        List<Change> pending = pendingChanges();
+        if (pending != null) {
+            for (Change change : pending) {
+                members = change.applyTo(workspaceId, members);
+            }
+        }
+        return members;
+    }
+
+    private CompressedBitmap members(long workspaceId) {
+        return membersByWorkspace.getOrDefault(workspaceId, CompressedBitmap.EMPTY);
+    }
+
+    private CompressedBitmap workspaces(long userId) {
+        return workspacesByUser.getOrDefault(userId, CompressedBitmap.EMPTY);
+    }
+
+    /**
+     * Publishes the change right away outside of a transaction, otherwise keeps it with the transaction
+     * until it has committed. Changes are kept before the initial load as well, in case they commit after
+     * its scan has started.
+     */
+    private void record(Change change) {
+        if (!change.fits()) {
+            disable();
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(List.of(change));
+            return;
+        }
+        List<Change> pending = pendingChanges();
+        if (pending == null) {
+            List<Change> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(changes);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(WorkspaceMembershipIndex.this);
+                }
+            });
+            pending = changes;
+        }
+        pending.add(change);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Change> pendingChanges() {
+        return (List<Change>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * Waits for a running load, whose result the changes are then applied on top of.
+     */
+    private synchronized void publish(List<Change> changes) {
+        if (!loaded) {
+            return;
+        }
+        changes.forEach(change -> change.publish(this));
+    }
+
+    private synchronized void disable() {
+        loaded = false;
+        membersByWorkspace.clear();
+        workspacesByUser.clear();
+    }
+
+    /**
+     * Sets the members of a workspace and moves the workspace in or out of the changed users' bitmaps.
+     */
+    private void replaceWorkspace(long workspaceId, CompressedBitmap members) {
+        CompressedBitmap previous = members(workspaceId);
+        previous.forEach(userId -> {
+            if (!members.contains(userId)) {
+                long id = Integer.toUnsignedLong(userId);
+                putOrRemove(workspacesByUser, id, workspaces(id).without((int) workspaceId));
+            }
+        });
+        members.forEach(userId -> {
+            long id = Integer.toUnsignedLong(userId);
+            workspacesByUser.put(id, workspaces(id).with((int) workspaceId));
+        });
+        putOrRemove(membersByWorkspace, workspaceId, members);
+    }
+
+    private void replaceUser(long userId, CompressedBitmap workspaces) {
+        CompressedBitmap previous = workspaces(userId);
+        previous.forEach(workspaceId -> {
+            if (!workspaces.contains(workspaceId)) {
+                long id = Integer.toUnsignedLong(workspaceId);
+                putOrRemove(membersByWorkspace, id, members(id).without((int) userId));
+            }
+        });
+        workspaces.forEach(workspaceId -> {
+            long id = Integer.toUnsignedLong(workspaceId);
+            membersByWorkspace.put(id, members(id).with((int) userId));
+        });
+        putOrRemove(workspacesByUser, userId, workspaces);
+    }
+
+    private static void putOrRemove(Map<Long, CompressedBitmap> bitmaps, long key, CompressedBitmap bitmap) {
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(key);
+        } else {
+            bitmaps.put(key, bitmap);
+        }
+    }
+
+    private static CompressedBitmap bitmap(Collection<Long> ids) {
+        return CompressedBitmap.of(ids.stream().mapToInt(Long::intValue).toArray());
+    }
+
+    private static boolean fits(long id) {
+        return id >= 0 && id <= MAX_ID;
+    }
+
+    /**
+     * A membership change, as the writing transaction sees it and as it is published after the commit.
+     */
+    private interface Change {
+
+        /**
+         * @return the members of the workspace after this change
+         */
+        CompressedBitmap applyTo(long workspaceId, CompressedBitmap members);
+
+        void publish(WorkspaceMembershipIndex index);
+
+        boolean fits();
+    }
+
+    private record AddMembers(long workspaceId, List<Long> userIds) implements Change {
+
+        @Override
+        public CompressedBitmap applyTo(long workspaceId, CompressedBitmap members) {
+            if (workspaceId != this.workspaceId) {
+                return members;
+            }
+            for (Long userId : userIds) {
+                members = members.with(userId.intValue());
+            }
+            return members;
+        }
+
+        @Override
+        public void publish(WorkspaceMembershipIndex index) {
+            CompressedBitmap members = index.members(workspaceId);
+            for (Long userId : userIds) {
+                members = members.with(userId.intValue());
+                index.workspacesByUser.put(userId, index.workspaces(userId).with((int) workspaceId));
+            }
+            index.membersByWorkspace.put(workspaceId, members);
+        }
+
+        @Override
+        public boolean fits() {
+            return WorkspaceMembershipIndex.fits(workspaceId)
+                    && userIds.stream().allMatch(WorkspaceMembershipIndex::fits);
+        }
+    }
+
+    private record RemoveMember(long workspaceId, long userId) implements Change {
+
+        @Override
+        public CompressedBitmap applyTo(long workspaceId, CompressedBitmap members) {
+            return workspaceId == this.workspaceId ? members.without((int) userId) : members;
+        }
+
+        @Override
+        public void publish(WorkspaceMembershipIndex index) {
+            putOrRemove(index.membersByWorkspace, workspaceId, index.members(workspaceId).without((int) userId));
+            putOrRemove(index.workspacesByUser, userId, index.workspaces(userId).without((int) workspaceId));
+        }
+
+        @Override
+        public boolean fits() {
+            return WorkspaceMembershipIndex.fits(workspaceId) && WorkspaceMembershipIndex.fits(userId);
+        }
+    }
+
+    private record RemoveWorkspace(long workspaceId) implements Change {
+
+        @Override
+        public CompressedBitmap applyTo(long workspaceId, CompressedBitmap members) {
+            return workspaceId == this.workspaceId ? CompressedBitmap.EMPTY : members;
+        }
+
+        @Override
+        public void publish(WorkspaceMembershipIndex index) {
+            index.replaceWorkspace(workspaceId, CompressedBitmap.EMPTY);
+        }
+
+        @Override
+        public boolean fits() {
+            return WorkspaceMembershipIndex.fits(workspaceId);
+        }
+    }
+
+    private record RemoveUser(long userId) implements Change {
+
+        @Override
+        public CompressedBitmap applyTo(long workspaceId, CompressedBitmap members) {
+            return members.without((int) userId);
+        }
+
+        @Override
+        public void publish(WorkspaceMembershipIndex index) {
+            index.replaceUser(userId, CompressedBitmap.EMPTY);
+        }
+
+        @Override
+        public boolean fits() {
+            return WorkspaceMembershipIndex.fits(userId);
+        }
+    }
+}
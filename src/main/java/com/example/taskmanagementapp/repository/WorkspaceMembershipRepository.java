@@ -0,0 +1,127 @@
+package com.example.taskmanagementapp.repository;
+
+import com.example.taskmanagementapp.model.WorkspaceRole;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the {@code users_workspaces} join table directly, for bulk changes that would otherwise
+ * load and dirty-check every member entity, and keeps the {@link WorkspaceRole} of every member in
+ * {@code workspace_member_roles}.
+ */
+@Repository
+public class WorkspaceMembershipRepository {
+
+    private static final String SELECT_MEMBERS = """
+            SELECT user_id FROM users_workspaces WHERE workspace_id = :workspaceId AND user_id IN (:userIds)""";
+
+    private static final String INSERT_MEMBER = "INSERT INTO users_workspaces (workspace_id, user_id) VALUES (?, ?)";
+
+    private static final String UPSERT_ROLE = """
+            INSERT INTO workspace_member_roles (workspace_id, user_id, role) VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE role = VALUES(role)""";
+
+    private static final String DELETE_ROLE = "DELETE FROM workspace_member_roles WHERE workspace_id = ? AND user_id = ?";
+
+    private static final String DELETE_ROLES = "DELETE FROM workspace_member_roles WHERE workspace_id = ?";
+
+    private static final String SELECT_USER_ROLE_WORKSPACES =
+            "SELECT workspace_id FROM workspace_member_roles WHERE user_id = ?";
+
+    private static final String DELETE_USER_ROLES = "DELETE FROM workspace_member_roles WHERE user_id = ?";
+
+    private static final String SELECT_ROLE = """
+            SELECT r.role FROM workspace_member_roles r JOIN users u ON u.id = r.user_id
+            WHERE r.workspace_id = ? AND u.email = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final int batchSize;
+
+    @Autowired
+    public WorkspaceMembershipRepository(JdbcTemplate jdbcTemplate,
+                                         @Value("${workspace.membership.batch.size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return the given users that are already members of the workspace
+     */
+    public Set<Long> findMemberIds(Long workspaceId, Collection<Long> userIds) {
+        Set<Long> memberIds = new HashSet<>();
+        List<Long> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("workspaceId", workspaceId)
+                    .addValue("userIds", ids.subList(from, Math.min(from + batchSize, ids.size())));
+            memberIds.addAll(namedParameterJdbcTemplate.queryForList(SELECT_MEMBERS, parameters, Long.class));
+        }
+        return memberIds;
+    }
+
+    public void insertMembers(Long workspaceId, Collection<Long> userIds, WorkspaceRole role) {
+        if (!userIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_MEMBER, userIds, batchSize, (ps, userId) -> {
+                ps.setLong(1, workspaceId);
+                ps.setLong(2, userId);
+            });
+            saveRoles(workspaceId, userIds, role);
+        }
+    }
+
+    /**
+     * Assigns the role to the users, replacing any role they already hold in the workspace.
+     */
+    public void saveRoles(Long workspaceId, Collection<Long> userIds, WorkspaceRole role) {
+        if (!userIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_ROLE, userIds, batchSize, (ps, userId) -> {
+                ps.setLong(1, workspaceId);
+                ps.setLong(2, userId);
+                ps.setString(3, role.name());
+            });
+        }
+    }
+
+    public void deleteRole(Long workspaceId, Long userId) {
+        jdbcTemplate.update(DELETE_ROLE, workspaceId, userId);
+    }
+
+    public void deleteRoles(Long workspaceId) {
+        jdbcTemplate.update(DELETE_ROLES, workspaceId);
+    }
+
+    /**
+     * Deletes the roles of the user in every workspace.
+     *
+     * @return the workspaces the user held a role in
+     */
+    public List<Long> deleteUserRoles(Long userId) {
+        List<Long> workspaceIds = jdbcTemplate.queryForList(SELECT_USER_ROLE_WORKSPACES, Long.class, userId);
+        if (!workspaceIds.isEmpty()) {
+            jdbcTemplate.update(DELETE_USER_ROLES, userId);
+        }
+        return workspaceIds;
+    }
+
+    /**
+     * @return the role of the user with the email in the workspace, or {@code null} if the user is not a member
+     */
+    public WorkspaceRole findRole(Long workspaceId, String email) {
+        List<String> roles = jdbcTemplate.queryForList(SELECT_ROLE, String.class, workspaceId, email);
+        return roles.isEmpty() ? null : WorkspaceRole.valueOf(roles.get(0));
+    }
+}
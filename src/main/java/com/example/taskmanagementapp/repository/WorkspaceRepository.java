@@ -1,13 +1,93 @@
 package com.example.taskmanagementapp.repository;
 
 import com.example.taskmanagementapp.model.Workspace;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface WorkspaceRepository extends JpaRepository<Workspace, Long> {
 
+    /**
+     * Starts from the caller's sid, so only the caller's own entries are scanned. A workspace is readable when
+     * a granting READ entry exists for the sid and no earlier entry of the same sid denies READ, which is the
+     * first-match rule the ACL permission check applies. Otherwise the caller's workspace roles are followed to
+     * their group sids, under the same rule, as long as none of the caller's own entries mentions READ, since
+     * those are consulted first. Last, a workspace that inherits from its organization is readable through the
+     * caller's entries on the organization, as long as no entry of the caller or the caller's role on the
+     * workspace itself mentions READ.
+     */
+    String READABLE_WORKSPACES_QUERY = """
+            SELECT w.* FROM workspaces w
+            JOIN (
+                SELECT CAST(oi.object_id_identity AS UNSIGNED) AS workspace_id
+                FROM acl_sid s
+                JOIN acl_entry e ON e.sid = s.id
+                JOIN acl_object_identity oi ON oi.id = e.acl_object_identity
+                JOIN acl_class c ON c.id = oi.object_id_class
+                WHERE s.principal = TRUE AND s.sid = :sid AND c.class = :className
+                  AND e.granting = TRUE AND (e.mask & 1) <> 0
+                  AND NOT EXISTS (
+                      SELECT 1 FROM acl_entry d
+                      WHERE d.acl_object_identity = e.acl_object_identity AND d.sid = e.sid
+                        AND d.granting = FALSE AND (d.mask & 1) <> 0 AND d.ace_order < e.ace_order)
+                UNION
+                SELECT r.workspace_id
+                FROM users u
+                JOIN workspace_member_roles r ON r.user_id = u.id
+                JOIN acl_class c ON c.class = :className
+                JOIN acl_object_identity oi ON oi.object_id_class = c.id
+                  AND oi.object_id_identity = CAST(r.workspace_id AS CHAR)
+                JOIN acl_sid s ON s.principal = FALSE AND s.sid = CONCAT('WORKSPACE_', r.workspace_id, '_', r.role)
+                JOIN acl_entry e ON e.acl_object_identity = oi.id AND e.sid = s.id
+                WHERE u.email = :sid AND e.granting = TRUE AND (e.mask & 1) <> 0
+                  AND NOT EXISTS (
+                      SELECT 1 FROM acl_entry d
+                      WHERE d.acl_object_identity = e.acl_object_identity AND d.sid = e.sid
+                        AND d.granting = FALSE AND (d.mask & 1) <> 0 AND d.ace_order < e.ace_order)
+                  AND NOT EXISTS (
+                      SELECT 1 FROM acl_entry p
+                      JOIN acl_sid ps ON ps.id = p.sid
+                      WHERE p.acl_object_identity = oi.id AND ps.principal = TRUE AND ps.sid = :sid
+                        AND (p.mask & 1) <> 0)
+                UNION
+                SELECT CAST(oi.object_id_identity AS UNSIGNED)
+                FROM acl_sid s
+                JOIN acl_entry e ON e.sid = s.id
+                JOIN acl_object_identity po ON po.id = e.acl_object_identity
+                JOIN acl_class pc ON pc.id = po.object_id_class
+                JOIN acl_object_identity oi ON oi.parent_object = po.id AND oi.entries_inheriting = TRUE
+                JOIN acl_class c ON c.id = oi.object_id_class
+                WHERE s.principal = TRUE AND s.sid = :sid AND pc.class = :organizationClassName
+                  AND c.class = :className AND e.granting = TRUE AND (e.mask & 1) <> 0
+                  AND NOT EXISTS (
+                      SELECT 1 FROM acl_entry d
+                      WHERE d.acl_object_identity = e.acl_object_identity AND d.sid = e.sid
+                        AND d.granting = FALSE AND (d.mask & 1) <> 0 AND d.ace_order < e.ace_order)
+                  AND NOT EXISTS (
+                      SELECT 1 FROM acl_entry p
+                      JOIN acl_sid ps ON ps.id = p.sid
+                      WHERE p.acl_object_identity = oi.id AND (p.mask & 1) <> 0
+                        AND (ps.principal = TRUE AND ps.sid = :sid
+                             OR ps.principal = FALSE AND ps.sid IN (
+                                 SELECT CONCAT('WORKSPACE_', mr.workspace_id, '_', mr.role)
+                                 FROM users mu
+                                 JOIN workspace_member_roles mr ON mr.user_id = mu.id
+                                 WHERE mu.email = :sid
+                                   AND mr.workspace_id = CAST(oi.object_id_identity AS UNSIGNED))))
+            ) r ON r.workspace_id = w.id
+            WHERE w.id > :afterId
+            ORDER BY w.id""";
+
     Optional<Workspace> findByTasksId(Long taskId);
+
+    @Query(value = READABLE_WORKSPACES_QUERY, nativeQuery = true)
+    List<Workspace> findReadableBySid(@Param("sid") String sid, @Param("className") String className,
+                                      @Param("organizationClassName") String organizationClassName,
+                                      @Param("afterId") long afterId, Pageable pageable);
 }
@@ -0,0 +1,76 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.model.RevokedAccessToken;
+import com.example.taskmanagementapp.repository.RevokedAccessTokenRepository;
+import com.example.taskmanagementapp.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Deny list of revoked access tokens by {@code jti}. A Bloom filter over the unexpired revocations
+ * answers the common case (not revoked) in memory; only a positive probe checks the table.
+ * The filter is rebuilt periodically, which drops expired revocations (their tokens are rejected
+ * anyway) and picks up revocations made by other instances.
+ */
+@Component
+public class AccessTokenRevocationList {
+
+    private RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    @Value("${jwt.revocation.expected.size}")
+    private Long expectedSize;
+
+    @Value("${jwt.revocation.fpp}")
+    private Double falsePositiveProbability;
+
+    private volatile BloomFilter revokedJtis;
+
+    /**
+     * Receives revocations made while a rebuild is loading the table, so none are lost by the swap.
+     */
+    private volatile BloomFilter nextRevokedJtis;
+
+    @Autowired
+    public AccessTokenRevocationList(RevokedAccessTokenRepository revokedAccessTokenRepository) {
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+    }
+
+    public boolean isRevoked(String jti) {
+        BloomFilter filter = revokedJtis;
+        if (jti == null || (filter != null && !filter.mightContain(jti))) {
+            return false;
+        }
+        return revokedAccessTokenRepository.existsById(jti);
+    }
+
+    public void revoke(String jti, Date expiresAt) {
+        revokedAccessTokenRepository.save(new RevokedAccessToken(jti, expiresAt));
+        BloomFilter next = nextRevokedJtis;
+        if (next != null) {
+            next.put(jti);
+        }
+        BloomFilter filter = revokedJtis;
+        if (filter != null) {
+            filter.put(jti);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild.interval}", initialDelayString = "${jwt.revocation.rebuild.interval}")
+    public synchronized void rebuild() {
+        Date now = new Date();
+        revokedAccessTokenRepository.deleteExpired(now);
+        long activeCount = revokedAccessTokenRepository.countByExpiresAtAfter(now);
+        BloomFilter filter = new BloomFilter(Math.max(expectedSize, 2 * activeCount), falsePositiveProbability);
+        nextRevokedJtis = filter;
+        revokedAccessTokenRepository.findActiveJtis(now).forEach(filter::put);
+        revokedJtis = filter;
+        nextRevokedJtis = null;
+    }
+}
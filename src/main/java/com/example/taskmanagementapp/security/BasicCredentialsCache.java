@@ -0,0 +1,97 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.event.UserChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Remembers recently verified HTTP Basic credentials, so repeated calls with the same username and
+ * password skip bcrypt. Entries are keyed by an HMAC of the credentials under a key generated at
+ * startup, so neither the cache nor a heap dump holds anything that can be checked offline.
+ */
+@Component
+public class BasicCredentialsCache {
+
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    @Value("${cache.basic.credentials.size}")
+    private Long cacheSize;
+
+    @Value("${cache.basic.credentials.ttl}")
+    private Long cacheTtl;
+
+    private Cache<String, UserDetails> verifiedCredentials;
+
+    private ThreadLocal<Mac> digests;
+
+    @PostConstruct
+    void init() {
+        byte[] salt = new byte[32];
+        new SecureRandom().nextBytes(salt);
+        SecretKeySpec digestKey = new SecretKeySpec(salt, DIGEST_ALGORITHM);
+        digests = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+                mac.init(digestKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        verifiedCredentials = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtl))
+                .build();
+    }
+
+    /**
+     * @return the principal the credentials were last verified for, or {@code null} if they have to be checked
+     */
+    public UserDetails get(String username, String password) {
+        return verifiedCredentials.getIfPresent(digest(username, password));
+    }
+
+    public void put(String username, String password, UserDetails userDetails) {
+        verifiedCredentials.put(digest(username, password), userDetails);
+    }
+
+    /**
+     * Drops the user's entries as soon as the change happens and once more when its transaction ends,
+     * in case a concurrent request verified the old credentials in between.
+     */
+    @EventListener
+    public void evictOnUserChange(UserChangedEvent event) {
+        evict(event.getEmail());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void evictAfterUserChangeCompletion(UserChangedEvent event) {
+        evict(event.getEmail());
+    }
+
+    private void evict(String username) {
+        verifiedCredentials.asMap().values().removeIf(userDetails -> userDetails.getUsername().equals(username));
+    }
+
+    private String digest(String username, String password) {
+        Mac mac = digests.get();
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanagementapp.security;
+
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Authenticates HTTP Basic requests through {@link BasicCredentialsCache}, falling back to the
+ * delegate (and bcrypt) only for credentials that were not verified recently. Failures are never cached.
+ */
+public class CachingBasicAuthenticationProvider implements AuthenticationProvider {
+
+    private final AuthenticationProvider delegate;
+
+    private final BasicCredentialsCache basicCredentialsCache;
+
+    public CachingBasicAuthenticationProvider(AuthenticationProvider delegate,
+                                              BasicCredentialsCache basicCredentialsCache) {
+        this.delegate = delegate;
+        this.basicCredentialsCache = basicCredentialsCache;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String username = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (username == null || !(credentials instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        UserDetails userDetails = basicCredentialsCache.get(username, password);
+        if (userDetails != null) {
+            return UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities());
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.getPrincipal() instanceof UserDetails verified) {
+            basicCredentialsCache.put(username, password, verified);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.taskmanagementapp.security;
 
+import com.example.taskmanagementapp.event.UserChangedEvent;
 import com.example.taskmanagementapp.model.User;
+import com.example.taskmanagementapp.security.config.CacheConfig;
 import com.example.taskmanagementapp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -15,12 +22,41 @@ public class CustomUserDetailsService implements UserDetailsService {
     private UserService userService;
 
 
+    /**
+     * Loads the user for a password check, with the hash, and therefore never from the cache.
+     */
     @Override
     public UserDetails loadUserByUsername(String username) {
         User user;
 
         user = userService.findByEmail(username);
 
-        return user;
+        return UserPrincipal.forPasswordCheck(user);
+    }
+
+    /**
+     * Loads the user for a request that was already authenticated by a token. The cached principal
+     * holds no password hash.
+     */
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#username")
+    public UserPrincipal loadPrincipalByUsername(String username) {
+        return UserPrincipal.from(userService.findByEmail(username));
+    }
+
+    /**
+     * Evicts as soon as the change happens, so the changing transaction itself never sees a stale entry.
+     */
+    @EventListener
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#event.email")
+    public void evictOnUserChange(UserChangedEvent event) {
+    }
+
+    /**
+     * Evicts once more when the transaction ends, dropping anything another request cached
+     * from the not yet committed (or rolled back) state in between.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#event.email")
+    public void evictAfterUserChangeCompletion(UserChangedEvent event) {
     }
 }
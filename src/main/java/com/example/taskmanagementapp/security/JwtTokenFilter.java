@@ -1,11 +1,11 @@
 package com.example.taskmanagementapp.security;
 
-import com.example.taskmanagementapp.model.User;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,18 +25,28 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private AccessTokenRevocationList accessTokenRevocationList;
+
+    @Value("${jwt.stateless}")
+    private Boolean stateless;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
         String header = request.getHeader("Authorization");
         String jwt;
-        String email;
         if(StringUtils.hasText(header) && header.startsWith("Bearer ")){
             jwt = header.substring(7);
-            if(jwtTokenProvider.validateToken(jwt)){
-                email = jwtTokenProvider.extractEmailFromToken(jwt);
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
-
+            VerifiedToken verified = jwtTokenProvider.verifyToken(jwt);
+            if (verified != null && accessTokenRevocationList.isRevoked(verified.id())) {
+                verified = null;
+            }
+            UserDetails userDetails = verified != null ? resolveUserDetails(verified) : null;
+            if(userDetails != null){
                 Authentication authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities()
                 );
@@ -45,4 +55,15 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails resolveUserDetails(VerifiedToken verified) {
+        if (!stateless) {
+            return customUserDetailsService.loadPrincipalByUsername(verified.subject());
+        }
+        UserPrincipal principal = jwtTokenProvider.extractPrincipal(verified);
+        if (principal == null || !tokenVersionRegistry.isCurrent(principal.getId(), principal.getTokenVersion())) {
+            return null;
+        }
+        return principal;
+    }
 }
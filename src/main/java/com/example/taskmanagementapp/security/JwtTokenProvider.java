@@ -1,15 +1,18 @@
 package com.example.taskmanagementapp.security;
 
-import com.example.taskmanagementapp.service.UserService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 public class JwtTokenProvider {
@@ -20,43 +23,69 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache.verified.size}")
+    private Long verifiedCacheSize;
 
-    public String generateToken(UserDetails userDetails){
+    @Value("${jwt.cache.rejected.size}")
+    private Long rejectedCacheSize;
+
+    private Key signingKey;
+
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @PostConstruct
+    void init() {
+        byte[] decodedSecretKey = Decoders.BASE64.decode(secretKey);
+        signingKey = Keys.hmacShaKeyFor(decodedSecretKey);
+        jwtTokenVerifier = new JwtTokenVerifier(signingKey, verifiedCacheSize, rejectedCacheSize);
+    }
+
+    public String generateToken(UserPrincipal principal){
         return Jwts
                 .builder()
-                .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(principal.getUsername())
+                .claim(VerifiedToken.USER_ID_CLAIM, principal.getId())
+                .claim(VerifiedToken.ROLES_CLAIM,
+                        principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .claim(VerifiedToken.TOKEN_VERSION_CLAIM, principal.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis()+expiration))
-                .signWith(generateKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Parses and verifies the token once; repeated calls with the same token are served from memory.
+     *
+     * @return the verified token, or {@code null} if the token was rejected
+     */
+    public VerifiedToken verifyToken(String token) {
+        return jwtTokenVerifier.verify(token);
+    }
+
     public Boolean validateToken(String token){
-        try{
-            Jwts.parserBuilder().setSigningKey(generateKey()).build().parseClaimsJws(token);
-            return true;
-        }catch (ExpiredJwtException | MalformedJwtException | UnsupportedJwtException |
-                PrematureJwtException expiredJwtException){
-            expiredJwtException.printStackTrace();
-        }
-        return false;
+        return verifyToken(token) != null;
     }
 
     public String extractEmailFromToken(String token){
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(generateKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        VerifiedToken verified = verifyToken(token);
+        return verified != null ? verified.subject() : null;
     }
 
-
-    private Key generateKey(){
-        byte[]decodedSecretKey = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(decodedSecretKey);
+    /**
+     * Builds a detached principal from the verified claims without touching the database.
+     *
+     * @return the principal, or {@code null} for tokens issued without the identity claims
+     */
+    public UserPrincipal extractPrincipal(VerifiedToken verified) {
+        if (verified.userId() == null || verified.roles() == null || verified.tokenVersion() == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = verified.roles().stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new UserPrincipal(verified.userId(), verified.subject(), null, verified.tokenVersion(), authorities);
     }
 
-
 }
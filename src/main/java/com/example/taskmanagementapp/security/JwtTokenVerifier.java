@@ -0,0 +1,103 @@
+package com.example.taskmanagementapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.PrematureJwtException;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies access tokens with a single pre-built parser and remembers the outcome.
+ * Verified claims are kept until the token's own expiration, rejected tokens for a short while,
+ * so repeated requests with the same token skip the HMAC check entirely. Only rejections that cannot
+ * change are remembered: a token that is not valid yet is checked again on its next use.
+ * <p>
+ * The cached {@link VerifiedToken} is shared by every caller, which is why it is an immutable copy of the
+ * claims authentication reads rather than the parsed {@code Claims} map.
+ */
+public class JwtTokenVerifier {
+
+    private static final Duration REJECTED_TOKEN_TTL = Duration.ofMinutes(10);
+
+    private final JwtParser jwtParser;
+
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    private final Cache<String, Boolean> rejectedTokens;
+
+    public JwtTokenVerifier(Key signingKey, long verifiedCacheSize, long rejectedCacheSize) {
+        this(Jwts.parserBuilder().setSigningKey(signingKey).build(), verifiedCacheSize, rejectedCacheSize);
+    }
+
+    JwtTokenVerifier(JwtParser jwtParser, long verifiedCacheSize, long rejectedCacheSize) {
+        this.jwtParser = jwtParser;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .build();
+        this.rejectedTokens = Caffeine.newBuilder()
+                .maximumSize(rejectedCacheSize)
+                .expireAfterWrite(REJECTED_TOKEN_TTL)
+                .build();
+    }
+
+    /**
+     * @return the verified token, or {@code null} when the token is malformed, tampered with,
+     * expired or not valid yet
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = verifiedTokens.getIfPresent(token);
+        if (verified != null) {
+            return verified;
+        }
+        if (!hasJwsStructure(token) || rejectedTokens.getIfPresent(token) != null) {
+            return null;
+        }
+        try {
+            verified = VerifiedToken.from(jwtParser.parseClaimsJws(token).getBody());
+        } catch (PrematureJwtException e) {
+            return null;
+        } catch (JwtException | IllegalArgumentException e) {
+            rejectedTokens.put(token, Boolean.TRUE);
+            return null;
+        }
+        if (verified.expiresAtMillis() != null) {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
+    }
+
+    private boolean hasJwsStructure(String token) {
+        int firstDot = token.indexOf('.');
+        if (firstDot <= 0) {
+            return false;
+        }
+        int secondDot = token.indexOf('.', firstDot + 1);
+        return secondDot > firstDot + 1 && secondDot < token.length() - 1 && token.indexOf('.', secondDot + 1) < 0;
+    }
+
+    private static class ExpireAtTokenExpiration implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            long millisLeft = verified.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
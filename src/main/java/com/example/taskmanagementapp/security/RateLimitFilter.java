@@ -0,0 +1,56 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.exception.RateLimitExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs right after {@link JwtTokenFilter}, so API calls made with a token are limited per user
+ * rather than per address. Rejections are rendered by the regular exception handlers.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH_PREFIX = "/auth/";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RequestRateLimiter requestRateLimiter;
+
+    private final HandlerExceptionResolver handlerExceptionResolver;
+
+    public RateLimitFilter(RequestRateLimiter requestRateLimiter, HandlerExceptionResolver handlerExceptionResolver) {
+        this.requestRateLimiter = requestRateLimiter;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith(AUTH_PATH_PREFIX)) {
+            waitNanos = requestRateLimiter.tryAcquireAuth(request.getRemoteAddr());
+        } else {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            waitNanos = requestRateLimiter.tryAcquireApi(authentication != null
+                    && authentication.getPrincipal() instanceof UserPrincipal principal
+                    ? "user:" + principal.getId() : "ip:" + request.getRemoteAddr());
+        }
+
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+            handlerExceptionResolver.resolveException(request, response, null,
+                    new RateLimitExceededException("Too many requests, please retry later", retryAfterSeconds));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
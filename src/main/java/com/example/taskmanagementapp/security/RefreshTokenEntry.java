@@ -0,0 +1,37 @@
+package com.example.taskmanagementapp.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * What the in-memory refresh token index keeps per token; the token itself is only known by its hash.
+ */
+@Getter
+@AllArgsConstructor
+public class RefreshTokenEntry {
+
+    private Long id;
+
+    private String tokenHash;
+
+    private Long userId;
+
+    private String familyId;
+
+    private String deviceId;
+
+    private long expiresAt;
+
+    /**
+     * Set once the token was exchanged for its successor; presenting it again means it leaked.
+     */
+    private boolean rotated;
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAt <= nowMillis;
+    }
+
+    RefreshTokenEntry asRotated() {
+        return new RefreshTokenEntry(id, tokenHash, userId, familyId, deviceId, expiresAt, true);
+    }
+}
@@ -1,12 +1,11 @@
 package com.example.taskmanagementapp.security;
 
+import com.example.taskmanagementapp.exception.RefreshTokenExpiredException;
 import com.example.taskmanagementapp.exception.RefreshTokenNotFoundException;
 import com.example.taskmanagementapp.model.RefreshToken;
 import com.example.taskmanagementapp.model.User;
-import com.example.taskmanagementapp.repository.RefreshTokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
@@ -16,39 +15,92 @@ import java.util.UUID;
 public class RefreshTokenProvider {
 
 
-    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenStore refreshTokenStore;
 
     @Autowired
-    public RefreshTokenProvider(RefreshTokenRepository refreshTokenRepository) {
-        this.refreshTokenRepository = refreshTokenRepository;
+    public RefreshTokenProvider(RefreshTokenStore refreshTokenStore) {
+        this.refreshTokenStore = refreshTokenStore;
     }
 
     @Value("${refresh.token.expiration}")
     private Long expiration;
 
-    public RefreshToken generateRefreshToken(User user) {
-        RefreshToken refreshToken = RefreshToken
-                .builder()
-                .token(UUID.randomUUID().toString())
-                .expirationDate(new Date(System.currentTimeMillis() + expiration))
-                .user(user)
-                .build();
-        return refreshTokenRepository.save(refreshToken);
+    /**
+     * Starts a new session (token family). Logging in again from the same device replaces that device's session.
+     */
+    public RefreshToken generateRefreshToken(User user, String deviceId) {
+        if (deviceId != null) {
+            refreshTokenStore.revokeDevice(user.getId(), deviceId);
+        }
+        return issue(user, UUID.randomUUID().toString(), deviceId);
+    }
+
+    /**
+     * Exchanges a valid refresh token for its successor in the same family. A token that was already
+     * exchanged is treated as stolen and revokes the whole family.
+     */
+    public RefreshToken rotateRefreshToken(RefreshTokenEntry refreshToken, User user) {
+        if (!refreshTokenStore.markRotated(refreshToken)) {
+            refreshTokenStore.revokeFamily(refreshToken);
+            throw new RefreshTokenExpiredException("Refresh token was already used, the session has been revoked!");
+        }
+        return issue(user, refreshToken.getFamilyId(), refreshToken.getDeviceId());
+    }
+
+    /**
+     * Ends the session the token belongs to; unknown tokens are ignored.
+     */
+    public void revokeRefreshToken(String token) {
+        RefreshTokenEntry refreshToken = token != null ? refreshTokenStore.find(token) : null;
+        if (refreshToken != null) {
+            refreshTokenStore.revokeFamily(refreshToken);
+        }
+    }
+
+    public void revokeAllRefreshTokens(Long userId) {
+        refreshTokenStore.revokeAll(userId);
+    }
+
+    /**
+     * Ends every session of the user once the current transaction commits. Unlike a revocation the tokens
+     * are still known until they are swept, so presenting one is answered as an expired session.
+     */
+    public void expireAllRefreshTokens(Long userId) {
+        refreshTokenStore.expireAll(userId);
     }
 
     public Boolean validateRefreshToken(String token) {
-        RefreshToken refreshToken = findByToken(token);
-        if (new Date().after(refreshToken.getExpirationDate())) {
-            refreshTokenRepository.delete(refreshToken);
+        return validateRefreshToken(findByToken(token));
+    }
+
+    public Boolean validateRefreshToken(RefreshTokenEntry refreshToken) {
+        if (refreshToken.isExpired(System.currentTimeMillis())) {
+            refreshTokenStore.remove(refreshToken);
             return false;
         }
         return true;
+    }
 
+    public RefreshTokenEntry findByToken(String token) {
+        RefreshTokenEntry refreshToken = token != null ? refreshTokenStore.find(token) : null;
+        if (refreshToken == null) {
+            throw new RefreshTokenNotFoundException(String.format("%s refresh token was not found!", token));
+        }
+        return refreshToken;
     }
 
-    public RefreshToken findByToken(String token) {
-        return refreshTokenRepository.findByToken(token).orElseThrow(
-                () -> new RefreshTokenNotFoundException(String.format("%s refresh token was not found!", token)));
+    private RefreshToken issue(User user, String familyId, String deviceId) {
+        String token = UUID.randomUUID().toString();
+        RefreshToken refreshToken = RefreshToken
+                .builder()
+                .token(token)
+                .tokenHash(RefreshTokenStore.hash(token))
+                .familyId(familyId)
+                .deviceId(deviceId)
+                .expirationDate(new Date(System.currentTimeMillis() + expiration))
+                .user(user)
+                .build();
+        return refreshTokenStore.save(refreshToken);
     }
 
 
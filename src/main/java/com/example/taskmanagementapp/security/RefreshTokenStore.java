@@ -0,0 +1,259 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.event.UserChangedEvent;
+import com.example.taskmanagementapp.model.RefreshToken;
+import com.example.taskmanagementapp.repository.RefreshTokenRepository;
+import com.example.taskmanagementapp.util.HashedTimingWheel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Refresh tokens indexed in memory by the SHA-256 of the token, written through to the table.
+ * A timing wheel expires entries as their deadline passes and the matching rows are deleted in batches,
+ * so the table only ever holds live tokens. Tokens not in memory (e.g. issued by another instance)
+ * are looked up in the table once and indexed from then on. Hashes the table did not have are
+ * remembered for a while, since a token is never recreated once gone and unknown tokens are
+ * exactly what a guessing client sends over and over.
+ */
+@Component
+public class RefreshTokenStore {
+
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${refresh.token.wheel.tick}")
+    private Long wheelTick;
+
+    @Value("${refresh.token.wheel.size}")
+    private Integer wheelSize;
+
+    @Value("${refresh.token.purge.batch.size}")
+    private Integer purgeBatchSize;
+
+    @Value("${refresh.token.miss.cache.size}")
+    private Long missCacheSize;
+
+    @Value("${refresh.token.miss.cache.ttl}")
+    private Long missCacheTtl;
+
+    private final Map<String, RefreshTokenEntry> tokensByHash = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<String>> tokenHashesByUser = new ConcurrentHashMap<>();
+
+    private HashedTimingWheel<String> expiryWheel;
+
+    private Cache<String, Boolean> missingTokenHashes;
+
+    @Autowired
+    public RefreshTokenStore(RefreshTokenRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @PostConstruct
+    void init() {
+        expiryWheel = new HashedTimingWheel<>(wheelTick, wheelSize, System.currentTimeMillis());
+        missingTokenHashes = Caffeine.newBuilder()
+                .maximumSize(missCacheSize)
+                .expireAfterWrite(Duration.ofMillis(missCacheTtl))
+                .build();
+    }
+
+    public RefreshToken save(RefreshToken refreshToken) {
+        RefreshToken savedToken = refreshTokenRepository.save(refreshToken);
+        RefreshTokenEntry entry = toEntry(savedToken);
+        afterCommit(() -> index(entry));
+        return savedToken;
+    }
+
+    /**
+     * @return the entry for the token, or {@code null} if there is no such token
+     */
+    public RefreshTokenEntry find(String token) {
+        String tokenHash = hash(token);
+        RefreshTokenEntry entry = tokensByHash.get(tokenHash);
+        if (entry != null) {
+            return entry;
+        }
+        if (missingTokenHashes.getIfPresent(tokenHash) != null) {
+            return null;
+        }
+        Optional<RefreshToken> refreshToken = refreshTokenRepository.findByTokenHash(tokenHash);
+        if (refreshToken.isEmpty()) {
+            missingTokenHashes.put(tokenHash, Boolean.TRUE);
+            return null;
+        }
+        return index(toEntry(refreshToken.get()));
+    }
+
+    /**
+     * Marks the token as exchanged for a successor. Only one caller can win this for a given token,
+     * across instances, since the row is flipped conditionally.
+     *
+     * @return {@code false} if the token had already been rotated
+     */
+    public boolean markRotated(RefreshTokenEntry entry) {
+        if (entry.isRotated() || refreshTokenRepository.markRotated(entry.getId()) == 0) {
+            return false;
+        }
+        tokensByHash.replace(entry.getTokenHash(), entry, entry.asRotated());
+        return true;
+    }
+
+    public void remove(RefreshTokenEntry entry) {
+        unindex(entry.getTokenHash());
+        refreshTokenRepository.deleteAllByIdInBatch(List.of(entry.getId()));
+    }
+
+    public void revokeFamily(RefreshTokenEntry entry) {
+        refreshTokenRepository.deleteByFamilyId(entry.getFamilyId());
+        unindexUserTokens(entry.getUserId(), other -> other.getFamilyId().equals(entry.getFamilyId()));
+    }
+
+    public void revokeDevice(Long userId, String deviceId) {
+        refreshTokenRepository.deleteByUserIdAndDeviceId(userId, deviceId);
+        unindexUserTokens(userId, entry -> deviceId.equals(entry.getDeviceId()));
+    }
+
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+        unindexUserTokens(userId, entry -> true);
+    }
+
+    /**
+     * Expires the user's rows as part of the current transaction; the entries in memory are dropped by
+     * {@link #onUserChanged} after it commits and reload with the new deadline.
+     */
+    public void expireAll(Long userId) {
+        Date now = new Date();
+        List<RefreshToken> refreshTokens = refreshTokenRepository.findAllByUserId(userId);
+        refreshTokens.forEach(refreshToken -> refreshToken.setExpirationDate(now));
+        refreshTokenRepository.saveAll(refreshTokens);
+    }
+
+    /**
+     * The rows of a deleted user are removed by the foreign key cascade; this only drops what is left in memory.
+     * Other changes just make the user's entries reload from the table on next use.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        unindexUserTokens(event.getUserId(), entry -> true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTokens() {
+        refreshTokenRepository.findAllByExpirationDateAfter(new Date())
+                .forEach(refreshToken -> index(toEntry(refreshToken)));
+        purgeExpiredTokens();
+    }
+
+    @Scheduled(fixedDelayString = "${refresh.token.wheel.tick}")
+    public void purgeExpiredTokens() {
+        List<String> expiredHashes;
+        do {
+            long now = System.currentTimeMillis();
+            expiredHashes = expiryWheel.advance(now, purgeBatchSize);
+            List<Long> expiredIds = new ArrayList<>(expiredHashes.size());
+            for (String tokenHash : expiredHashes) {
+                RefreshTokenEntry entry = tokensByHash.get(tokenHash);
+                if (entry != null && entry.isExpired(now) && unindex(tokenHash) != null) {
+                    expiredIds.add(entry.getId());
+                }
+            }
+            if (!expiredIds.isEmpty()) {
+                refreshTokenRepository.deleteAllByIdInBatch(expiredIds);
+            }
+        } while (expiredHashes.size() == purgeBatchSize);
+    }
+
+    /**
+     * Sweeps the table itself along the expiration index, for rows this instance never indexed
+     * (issued elsewhere, or left behind by a restart), one bounded batch per statement.
+     */
+    @Scheduled(fixedDelayString = "${refresh.token.purge.interval}", initialDelayString = "${refresh.token.purge.interval}")
+    public void purgeExpiredRows() {
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpired(new Date(), purgeBatchSize);
+        } while (deleted == purgeBatchSize);
+    }
+
+    private RefreshTokenEntry index(RefreshTokenEntry entry) {
+        RefreshTokenEntry existing = tokensByHash.putIfAbsent(entry.getTokenHash(), entry);
+        if (existing != null) {
+            return existing;
+        }
+        tokenHashesByUser.computeIfAbsent(entry.getUserId(), userId -> ConcurrentHashMap.newKeySet())
+                .add(entry.getTokenHash());
+        expiryWheel.schedule(entry.getTokenHash(), entry.getExpiresAt());
+        return entry;
+    }
+
+    private RefreshTokenEntry unindex(String tokenHash) {
+        RefreshTokenEntry entry = tokensByHash.remove(tokenHash);
+        if (entry != null) {
+            tokenHashesByUser.computeIfPresent(entry.getUserId(), (userId, tokenHashes) -> {
+                tokenHashes.remove(tokenHash);
+                return tokenHashes.isEmpty() ? null : tokenHashes;
+            });
+        }
+        return entry;
+    }
+
+    private void unindexUserTokens(Long userId, Predicate<RefreshTokenEntry> filter) {
+        Set<String> tokenHashes = tokenHashesByUser.get(userId);
+        if (tokenHashes == null) {
+            return;
+        }
+        for (String tokenHash : List.copyOf(tokenHashes)) {
+            RefreshTokenEntry entry = tokensByHash.get(tokenHash);
+            if (entry == null || filter.test(entry)) {
+                unindex(tokenHash);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private RefreshTokenEntry toEntry(RefreshToken refreshToken) {
+        return new RefreshTokenEntry(refreshToken.getId(), refreshToken.getTokenHash(),
+                refreshToken.getUser().getId(), refreshToken.getFamilyId(), refreshToken.getDeviceId(),
+                refreshToken.getExpirationDate().getTime(), refreshToken.isRotated());
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.util.RateLimiter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Rate limits per route group: the {@code /auth} endpoints are limited per client address, everything
+ * else per authenticated user (or client address for anonymous calls).
+ */
+@Component
+public class RequestRateLimiter {
+
+    @Value("${rate.limit.auth.requests}")
+    private Long authRequests;
+
+    @Value("${rate.limit.auth.period}")
+    private Long authPeriod;
+
+    @Value("${rate.limit.auth.burst}")
+    private Long authBurst;
+
+    @Value("${rate.limit.api.requests}")
+    private Long apiRequests;
+
+    @Value("${rate.limit.api.period}")
+    private Long apiPeriod;
+
+    @Value("${rate.limit.api.burst}")
+    private Long apiBurst;
+
+    private RateLimiter authRateLimiter;
+
+    private RateLimiter apiRateLimiter;
+
+    @PostConstruct
+    void init() {
+        authRateLimiter = new RateLimiter(authRequests, Duration.ofMillis(authPeriod), authBurst);
+        apiRateLimiter = new RateLimiter(apiRequests, Duration.ofMillis(apiPeriod), apiBurst);
+    }
+
+    /**
+     * @return {@code 0} if the request may proceed, otherwise how many nanoseconds until it would
+     */
+    public long tryAcquireAuth(String clientAddress) {
+        return authRateLimiter.tryAcquire(clientAddress, System.nanoTime());
+    }
+
+    /**
+     * @return {@code 0} if the request may proceed, otherwise how many nanoseconds until it would
+     */
+    public long tryAcquireApi(String key) {
+        return apiRateLimiter.tryAcquire(key, System.nanoTime());
+    }
+
+    @Scheduled(fixedDelayString = "${rate.limit.eviction.interval}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        authRateLimiter.evictIdle(now);
+        apiRateLimiter.evictIdle(now);
+    }
+}
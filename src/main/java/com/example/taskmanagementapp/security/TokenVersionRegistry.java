@@ -0,0 +1,55 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.event.UserChangedEvent;
+import com.example.taskmanagementapp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Keeps the current token version of recently seen users in memory, so stateless
+ * authentication can reject tokens issued before an update or deletion without a query per request.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final int REVOKED = -1;
+
+    private UserRepository userRepository;
+
+    @Value("${jwt.token.version.cache.size}")
+    private Long cacheSize;
+
+    @Value("${jwt.token.version.cache.ttl}")
+    private Long cacheTtl;
+
+    private LoadingCache<Long, Integer> tokenVersions;
+
+    @Autowired
+    public TokenVersionRegistry(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @PostConstruct
+    void init() {
+        tokenVersions = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtl))
+                .build(userId -> userRepository.findTokenVersionById(userId).orElse(REVOKED));
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return tokenVersion != REVOKED && tokenVersion == tokenVersions.get(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        tokenVersions.invalidate(event.getUserId());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.model.Role;
+import com.example.taskmanagementapp.model.User;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.Value;
+import lombok.experimental.NonFinal;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * What the security context holds for an authenticated user, instead of the {@link User} entity.
+ * The password hash is only present in principals built by {@link #forPasswordCheck}, and the
+ * {@code ProviderManager} erases it once the check succeeded, so it never reaches the security context
+ * or a cache.
+ */
+@Value
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+
+    Long id;
+
+    String email;
+
+    @NonFinal
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    String password;
+
+    int tokenVersion;
+
+    List<GrantedAuthority> authorities;
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), null, user.getTokenVersion(), authorities(user));
+    }
+
+    /**
+     * @return a principal carrying the password hash, for a single {@code DaoAuthenticationProvider} check
+     */
+    public static UserPrincipal forPasswordCheck(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getTokenVersion(),
+                authorities(user));
+    }
+
+    private static List<GrantedAuthority> authorities(User user) {
+        return user.getRoles()
+                .stream()
+                .map(Role::getName)
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
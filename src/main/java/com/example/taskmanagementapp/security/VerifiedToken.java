@@ -0,0 +1,39 @@
+package com.example.taskmanagementapp.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The claims of a verified access token that authentication reads, copied out of the parsed {@link Claims}
+ * so the value can be cached and shared. The identity claims are {@code null} for tokens issued without them.
+ */
+public record VerifiedToken(String subject, String id, Long expiresAtMillis, Long userId, List<String> roles,
+                            Integer tokenVersion) {
+
+    public static final String USER_ID_CLAIM = "uid";
+
+    public static final String ROLES_CLAIM = "roles";
+
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    static VerifiedToken from(Claims claims) {
+        Date expiration = claims.getExpiration();
+        Object userId = claims.get(USER_ID_CLAIM);
+        Object roles = claims.get(ROLES_CLAIM);
+        Object tokenVersion = claims.get(TOKEN_VERSION_CLAIM);
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.getId(),
+                expiration != null ? expiration.getTime() : null,
+                userId instanceof Number number ? number.longValue() : null,
+                roles instanceof Collection<?> collection ? collection.stream().map(String::valueOf).toList() : null,
+                tokenVersion instanceof Number number ? number.intValue() : null);
+    }
+
+    public Date expiration() {
+        return expiresAtMillis != null ? new Date(expiresAtMillis) : null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.taskmanagementapp.security.acl;
+
+import com.example.taskmanagementapp.dto.AclCacheEntryDTO;
+import com.example.taskmanagementapp.dto.AclCacheStatsDTO;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.security.config.CacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-only view of the Caffeine cache behind {@link AclCache}, plus per-workspace eviction.
+ * Lookups here do not count as cache hits and do not extend the entries' access expiry.
+ */
+@Component
+public class AclCacheInspector {
+
+    private final Cache<Object, Object> nativeCache;
+
+    private final AclCache aclCache;
+
+    @Autowired
+    public AclCacheInspector(CacheManager cacheManager, AclCache aclCache) {
+        this.nativeCache = ((CaffeineCache) cacheManager.getCache(CacheConfig.ACL_CACHE)).getNativeCache();
+        this.aclCache = aclCache;
+    }
+
+    public AclCacheStatsDTO getStats() {
+        CacheStats stats = nativeCache.stats();
+        Policy.Eviction<Object, Object> eviction = nativeCache.policy().eviction().orElseThrow();
+        return AclCacheStatsDTO.builder()
+                .estimatedSize(nativeCache.estimatedSize())
+                .weightedSize(eviction.weightedSize().orElse(0))
+                .maximumWeight(eviction.getMaximum())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRatio(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .build();
+    }
+
+    public AclCacheEntryDTO getWorkspaceEntry(Long workspaceId) {
+        Object cached = nativeCache.policy().getIfPresentQuietly(workspaceIdentity(workspaceId));
+        AclCacheEntryDTO.AclCacheEntryDTOBuilder entry = AclCacheEntryDTO.builder()
+                .workspaceId(workspaceId)
+                .cached(cached instanceof Acl);
+        if (cached instanceof Acl acl) {
+            entry.entries(acl.getEntries().size()).owner(String.valueOf(acl.getOwner()));
+        }
+        return entry.build();
+    }
+
+    public void evictWorkspace(Long workspaceId) {
+        aclCache.evictFromCache(workspaceIdentity(workspaceId));
+    }
+
+    public void evictAll() {
+        aclCache.clearCache();
+    }
+
+    private ObjectIdentity workspaceIdentity(Long workspaceId) {
+        return new ObjectIdentityImpl(Workspace.class, workspaceId);
+    }
+}
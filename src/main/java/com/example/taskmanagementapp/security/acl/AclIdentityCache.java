@@ -0,0 +1,105 @@
+package com.example.taskmanagementapp.security.acl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Primary keys of {@code acl_sid} and {@code acl_class} rows, shared by all requests. Keys learned inside a
+ * transaction are only visible to that transaction until it commits, so a rolled back insert never leaves an
+ * id behind that other transactions could reference.
+ */
+public class AclIdentityCache {
+
+    private final Cache<Object, Long> committed;
+
+    public AclIdentityCache(long maximumSize) {
+        this.committed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * @return the cached key, or the one returned by the loader, which may be {@code null} if the row does not exist
+     */
+    public Long getSidPrimaryKey(boolean principal, String sid, Supplier<Long> loader) {
+        return get(new SidKey(principal, sid), loader);
+    }
+
+    public Long getSidPrimaryKey(boolean principal, String sid) {
+        return get(new SidKey(principal, sid));
+    }
+
+    public void putSidPrimaryKey(boolean principal, String sid, Long id) {
+        put(new SidKey(principal, sid), id);
+    }
+
+    public Long getClassPrimaryKey(String type, Supplier<Long> loader) {
+        return get(new ClassKey(type), loader);
+    }
+
+    private Long get(Object key, Supplier<Long> loader) {
+        Long id = get(key);
+        if (id == null) {
+            id = loader.get();
+            if (id != null) {
+                put(key, id);
+            }
+        }
+        return id;
+    }
+
+    private Long get(Object key) {
+        Long id = committed.getIfPresent(key);
+        if (id == null) {
+            Map<Object, Long> pending = pending(false);
+            id = pending != null ? pending.get(key) : null;
+        }
+        return id;
+    }
+
+    private void put(Object key, Long id) {
+        Map<Object, Long> pending = pending(true);
+        if (pending != null) {
+            pending.put(key, id);
+        } else {
+            committed.put(key, id);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Long> pending(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Object, Long> pending = (Map<Object, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            Map<Object, Long> transactionKeys = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, transactionKeys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed.putAll(transactionKeys);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AclIdentityCache.this);
+                }
+            });
+            pending = transactionKeys;
+        }
+        return pending;
+    }
+
+    private record SidKey(boolean principal, String sid) {
+    }
+
+    private record ClassKey(String type) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskmanagementapp.security.acl;
+
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.model.Permission;
+
+import java.util.List;
+
+/**
+ * The permission names the API accepts and the entries a creator gets. Each permission is stored as its own
+ * entry, so granting and revoking one by name finds exactly the entry it added.
+ */
+public final class AclPermissions {
+
+    public static final List<Permission> OWNER = List.of(
+            BasePermission.READ,
+            BasePermission.CREATE,
+            BasePermission.WRITE,
+            BasePermission.DELETE,
+            BasePermission.ADMINISTRATION);
+
+    private AclPermissions() {
+    }
+
+    public static Permission fromName(String permission) {
+        return switch (permission.toUpperCase()) {
+            case "READ" -> BasePermission.READ;
+            case "CREATE" -> BasePermission.CREATE;
+            case "WRITE" -> BasePermission.WRITE;
+            case "DELETE" -> BasePermission.DELETE;
+            case "ADMIN" -> BasePermission.ADMINISTRATION;
+            default -> throw new IllegalArgumentException("Invalid Permission");
+        };
+    }
+}
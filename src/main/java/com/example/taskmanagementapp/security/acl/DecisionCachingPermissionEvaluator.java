@@ -0,0 +1,140 @@
+package com.example.taskmanagementapp.security.acl;
+
+import com.example.taskmanagementapp.model.Task;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.security.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.acls.domain.ObjectIdentityRetrievalStrategyImpl;
+import org.springframework.security.acls.model.IdentityUnavailableException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.ObjectIdentityRetrievalStrategy;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Remembers every permission decision for the rest of the web request, keyed by principal, target and
+ * permission mask, so filtering many objects that resolve to the same workspace asks the delegate once.
+ * Tasks have no ACL of their own and are checked against their workspace, so all tasks of a workspace
+ * share one decision. Outside a request every call goes to the delegate.
+ * <p>
+ * Decisions are not invalidated when a handler changes ACLs, checks run before the handler does.
+ */
+public class DecisionCachingPermissionEvaluator implements PermissionEvaluator {
+
+    private static final String ATTRIBUTE = DecisionCachingPermissionEvaluator.class.getName();
+
+    private static final String WORKSPACE_TYPE = Workspace.class.getName();
+
+    private final PermissionEvaluator delegate;
+
+    private final ObjectIdentityRetrievalStrategy objectIdentityRetrievalStrategy = new ObjectIdentityRetrievalStrategyImpl();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final DistributionSummary savedPerRequest;
+
+    public DecisionCachingPermissionEvaluator(PermissionEvaluator delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.hits = Counter.builder("acl.decision.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("acl.decision.cache").tag("result", "miss").register(meterRegistry);
+        this.savedPerRequest = DistributionSummary.builder("acl.decision.cache.saved")
+                .description("Permission evaluations answered from the request's decision cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        if (targetDomainObject instanceof Task task && task.getWorkspace() != null
+                && task.getWorkspace().getId() != null) {
+            return hasPermission(authentication, task.getWorkspace().getId(), WORKSPACE_TYPE, permission);
+        }
+        ObjectIdentity objectIdentity = toObjectIdentity(targetDomainObject);
+        if (objectIdentity == null) {
+            return delegate.hasPermission(authentication, targetDomainObject, permission);
+        }
+        return decide(authentication, objectIdentity.getType(), objectIdentity.getIdentifier(), permission,
+                () -> delegate.hasPermission(authentication, targetDomainObject, permission));
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        if (targetId == null) {
+            return delegate.hasPermission(authentication, targetId, targetType, permission);
+        }
+        return decide(authentication, targetType, targetId, permission,
+                () -> delegate.hasPermission(authentication, targetId, targetType, permission));
+    }
+
+    private boolean decide(Authentication authentication, String type, Serializable id, Object permission,
+                           BooleanSupplier evaluation) {
+        Decisions decisions = decisions();
+        if (decisions == null || authentication == null || permission == null) {
+            return evaluation.getAsBoolean();
+        }
+        Object principal = authentication.getPrincipal() instanceof UserPrincipal userPrincipal
+                ? userPrincipal.getId() : authentication.getName();
+        // identifiers are compared as numbers, a workspace checked by Integer and by Long id is one decision
+        Object identifier = id instanceof Number number ? (Object) number.longValue() : id;
+        // "READ", BasePermission.READ and 1 ask for the same thing
+        int mask = WorkspacePermissionEvaluator.requiredMask(permission);
+        Key key = new Key(principal, type, identifier, mask != 0 ? mask : permission);
+        Boolean granted = decisions.granted.get(key);
+        if (granted != null) {
+            decisions.saved++;
+            hits.increment();
+            return granted;
+        }
+        misses.increment();
+        boolean decision = evaluation.getAsBoolean();
+        decisions.granted.put(key, decision);
+        return decision;
+    }
+
+    private Decisions decisions() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        Decisions decisions = (Decisions) requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (decisions == null) {
+            Decisions requestDecisions = new Decisions();
+            requestAttributes.setAttribute(ATTRIBUTE, requestDecisions, RequestAttributes.SCOPE_REQUEST);
+            requestAttributes.registerDestructionCallback(ATTRIBUTE,
+                    () -> savedPerRequest.record(requestDecisions.saved), RequestAttributes.SCOPE_REQUEST);
+            decisions = requestDecisions;
+        }
+        return decisions;
+    }
+
+    private ObjectIdentity toObjectIdentity(Object domainObject) {
+        if (domainObject == null) {
+            return null;
+        }
+        try {
+            return objectIdentityRetrievalStrategy.getObjectIdentity(domainObject);
+        } catch (IdentityUnavailableException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final class Decisions {
+
+        private final Map<Key, Boolean> granted = new HashMap<>();
+
+        private int saved;
+    }
+
+    private record Key(Object principal, String type, Object id, Object permission) {
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.taskmanagementapp.security.acl;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.jdbc.JdbcMutableAclService;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.AuditableAccessControlEntry;
+import org.springframework.security.acls.model.ChildrenExistException;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.NotFoundException;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link WorkspacePermissionIndex} in step with every ACL written through this service.
+ * <p>
+ * {@link #updateAcl} writes only the difference between the stored entries and the ACL instead of deleting
+ * and re-inserting all of them: entries are matched by their primary key, and removed, moved, changed and
+ * new entries each go to the database as one batched statement. Sids of new entries are resolved in bulk too.
+ * <p>
+ * Sid and class primary keys are kept in an {@link AclIdentityCache}, so creating and updating ACLs only
+ * looks them up the first time. When another transaction creates the same sid or class concurrently, the
+ * losing insert is answered with a locking read of the winner's row.
+ */
+public class IndexingMutableAclService extends JdbcMutableAclService {
+
+    private static final String SELECT_ENTRIES = """
+            SELECT id, ace_order, mask, granting, audit_success, audit_failure
+            FROM acl_entry WHERE acl_object_identity = ?""";
+
+    private static final String DELETE_ENTRY = "DELETE FROM acl_entry WHERE id = ?";
+
+    private static final String MOVE_ENTRY = "UPDATE acl_entry SET ace_order = ? WHERE id = ?";
+
+    private static final String UPDATE_ENTRY = """
+            UPDATE acl_entry SET ace_order = ?, mask = ?, granting = ?, audit_success = ?, audit_failure = ?
+            WHERE id = ?""";
+
+    private static final String INSERT_ENTRY = """
+            INSERT INTO acl_entry (acl_object_identity, ace_order, sid, mask, granting, audit_success, audit_failure)
+            VALUES (?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String SELECT_SIDS = "SELECT id, sid FROM acl_sid WHERE principal = :principal AND sid IN (:sids)";
+
+    private static final String INSERT_SID = "INSERT INTO acl_sid (principal, sid) VALUES (?, ?)";
+
+    // locking reads see rows committed after the transaction's snapshot was taken
+    private static final String SELECT_SID_LOCKED =
+            "SELECT id FROM acl_sid WHERE principal = ? AND sid = ? LOCK IN SHARE MODE";
+
+    private static final String SELECT_CLASS_LOCKED = "SELECT id FROM acl_class WHERE class = ? LOCK IN SHARE MODE";
+
+    private static final int SID_QUERY_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final AclCache aclCache;
+
+    private final WorkspacePermissionIndex workspacePermissionIndex;
+
+    private final AclIdentityCache aclIdentityCache;
+
+    public IndexingMutableAclService(DataSource dataSource, LookupStrategy lookupStrategy, AclCache aclCache,
+                                     WorkspacePermissionIndex workspacePermissionIndex,
+                                     AclIdentityCache aclIdentityCache) {
+        super(dataSource, lookupStrategy, aclCache);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.aclCache = aclCache;
+        this.workspacePermissionIndex = workspacePermissionIndex;
+        this.aclIdentityCache = aclIdentityCache;
+    }
+
+    @Override
+    public MutableAcl updateAcl(MutableAcl acl) throws NotFoundException {
+        Assert.notNull(acl.getId(), "Object Identity doesn't provide an identifier");
+        Assert.isTrue(TransactionSynchronizationManager.isSynchronizationActive(), "Transaction must be running");
+        updateEntries(acl);
+        updateObjectIdentity(acl);
+        clearCacheIncludingChildren(acl.getObjectIdentity());
+        MutableAcl updatedAcl = (MutableAcl) readAclById(acl.getObjectIdentity());
+        workspacePermissionIndex.update(acl);
+        return updatedAcl;
+    }
+
+    @Override
+    public void deleteAcl(ObjectIdentity objectIdentity, boolean deleteChildren) throws ChildrenExistException {
+        super.deleteAcl(objectIdentity, deleteChildren);
+        workspacePermissionIndex.remove(objectIdentity);
+    }
+
+    @Override
+    protected Long createOrRetrieveSidPrimaryKey(String sidName, boolean sidIsPrincipal, boolean allowCreate) {
+        return aclIdentityCache.getSidPrimaryKey(sidIsPrincipal, sidName, () -> {
+            try {
+                return super.createOrRetrieveSidPrimaryKey(sidName, sidIsPrincipal, allowCreate);
+            } catch (DataIntegrityViolationException e) {
+                return jdbcTemplate.queryForObject(SELECT_SID_LOCKED, Long.class, sidIsPrincipal, sidName);
+            }
+        });
+    }
+
+    @Override
+    protected Long createOrRetrieveClassPrimaryKey(String type, boolean allowCreate, Class idType) {
+        return aclIdentityCache.getClassPrimaryKey(type, () -> {
+            try {
+                return super.createOrRetrieveClassPrimaryKey(type, allowCreate, idType);
+            } catch (DataIntegrityViolationException e) {
+                return jdbcTemplate.queryForObject(SELECT_CLASS_LOCKED, Long.class, type);
+            }
+        });
+    }
+
+    private void updateEntries(MutableAcl acl) {
+        Map<Long, StoredEntry> storedEntries = new HashMap<>();
+        jdbcTemplate.query(SELECT_ENTRIES, rs -> {
+            storedEntries.put(rs.getLong(1), new StoredEntry(rs.getInt(2), rs.getInt(3), rs.getBoolean(4),
+                    rs.getBoolean(5), rs.getBoolean(6)));
+        }, acl.getId());
+
+        List<Object[]> moves = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<AccessControlEntry> entries = acl.getEntries();
+        Map<Sid, Long> sidKeys = resolveSidPrimaryKeys(entries.stream()
+                .filter(entry -> entry.getId() == null || !storedEntries.containsKey(((Number) entry.getId()).longValue()))
+                .map(AccessControlEntry::getSid)
+                .collect(Collectors.toSet()));
+        for (int order = 0; order < entries.size(); order++) {
+            AuditableAccessControlEntry entry = (AuditableAccessControlEntry) entries.get(order);
+            int mask = entry.getPermission().getMask();
+            StoredEntry stored = entry.getId() != null ? storedEntries.remove(((Number) entry.getId()).longValue()) : null;
+            if (stored == null) {
+                inserts.add(new Object[]{acl.getId(), order, sidKeys.get(entry.getSid()), mask,
+                        entry.isGranting(), entry.isAuditSuccess(), entry.isAuditFailure()});
+                continue;
+            }
+            if (stored.order() != order) {
+                // park moved rows on negative orders first, their targets may still be taken by other moved rows
+                moves.add(new Object[]{-order - 1, entry.getId()});
+            }
+            if (!stored.matches(order, mask, entry)) {
+                updates.add(new Object[]{order, mask, entry.isGranting(), entry.isAuditSuccess(),
+                        entry.isAuditFailure(), entry.getId()});
+            }
+        }
+        List<Object[]> deletes = storedEntries.keySet().stream().map(id -> new Object[]{id}).toList();
+
+        batchUpdate(DELETE_ENTRY, deletes);
+        batchUpdate(MOVE_ENTRY, moves);
+        batchUpdate(UPDATE_ENTRY, updates);
+        batchUpdate(INSERT_ENTRY, inserts);
+    }
+
+    /**
+     * Looks up the uncached sids of new entries with one query per batch and creates the missing ones with one
+     * batched insert, instead of a lookup per entry. A single sid, an unknown sid type, or a sid the batch could
+     * not create because another transaction did, goes through {@link #createOrRetrieveSidPrimaryKey}.
+     */
+    private Map<Sid, Long> resolveSidPrimaryKeys(Set<Sid> sids) {
+        Map<Sid, Long> keys = new HashMap<>();
+        Map<Boolean, Map<String, Sid>> sidsByPrincipal = new HashMap<>();
+        for (Sid sid : sids) {
+            Long cached = cachedSidPrimaryKey(sid);
+            if (cached != null) {
+                keys.put(sid, cached);
+            } else if (sids.size() > 1 && sid instanceof PrincipalSid principalSid) {
+                sidsByPrincipal.computeIfAbsent(true, principal -> new HashMap<>()).put(principalSid.getPrincipal(), sid);
+            } else if (sids.size() > 1 && sid instanceof GrantedAuthoritySid authoritySid) {
+                sidsByPrincipal.computeIfAbsent(false, principal -> new HashMap<>()).put(authoritySid.getGrantedAuthority(), sid);
+            } else {
+                keys.put(sid, createOrRetrieveSidPrimaryKey(sid, true));
+            }
+        }
+        sidsByPrincipal.forEach((principal, sidsByName) -> {
+            Map<String, Long> found = findSidPrimaryKeys(principal, sidsByName.keySet());
+            List<String> missing = sidsByName.keySet().stream().filter(name -> !found.containsKey(name)).toList();
+            if (!missing.isEmpty()) {
+                try {
+                    jdbcTemplate.batchUpdate(INSERT_SID, missing, SID_QUERY_BATCH_SIZE, (ps, name) -> {
+                        ps.setBoolean(1, principal);
+                        ps.setString(2, name);
+                    });
+                } catch (DataIntegrityViolationException e) {
+                    // some of the sids were created concurrently, whatever is still missing is created one by one
+                }
+                found.putAll(findSidPrimaryKeys(principal, missing));
+            }
+            sidsByName.forEach((name, sid) -> {
+                Long id = found.get(name);
+                if (id != null) {
+                    aclIdentityCache.putSidPrimaryKey(principal, name, id);
+                    keys.put(sid, id);
+                } else {
+                    keys.put(sid, createOrRetrieveSidPrimaryKey(sid, true));
+                }
+            });
+        });
+        return keys;
+    }
+
+    private Long cachedSidPrimaryKey(Sid sid) {
+        if (sid instanceof PrincipalSid principalSid) {
+            return aclIdentityCache.getSidPrimaryKey(true, principalSid.getPrincipal());
+        }
+        if (sid instanceof GrantedAuthoritySid authoritySid) {
+            return aclIdentityCache.getSidPrimaryKey(false, authoritySid.getGrantedAuthority());
+        }
+        return null;
+    }
+
+    private Map<String, Long> findSidPrimaryKeys(boolean principal, Collection<String> names) {
+        // acl_sid.sid compares case-insensitively under the default MySQL collation
+        Map<String, Long> keys = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        List<String> remaining = new ArrayList<>(names);
+        for (int from = 0; from < remaining.size(); from += SID_QUERY_BATCH_SIZE) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("principal", principal)
+                    .addValue("sids", remaining.subList(from, Math.min(from + SID_QUERY_BATCH_SIZE, remaining.size())));
+            namedParameterJdbcTemplate.query(SELECT_SIDS, parameters, rs -> {
+                keys.put(rs.getString(2), rs.getLong(1));
+            });
+        }
+        return keys;
+    }
+
+    private void batchUpdate(String sql, List<Object[]> arguments) {
+        if (!arguments.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, arguments);
+        }
+    }
+
+    private void clearCacheIncludingChildren(ObjectIdentity objectIdentity) {
+        List<ObjectIdentity> children = findChildren(objectIdentity);
+        if (children != null) {
+            children.forEach(this::clearCacheIncludingChildren);
+        }
+        aclCache.evictFromCache(objectIdentity);
+    }
+
+    private record StoredEntry(int order, int mask, boolean granting, boolean auditSuccess, boolean auditFailure) {
+
+        boolean matches(int order, int mask, AuditableAccessControlEntry entry) {
+            return this.order == order && this.mask == mask && granting == entry.isGranting()
+                    && auditSuccess == entry.isAuditSuccess() && auditFailure == entry.isAuditFailure();
+        }
+    }
+}
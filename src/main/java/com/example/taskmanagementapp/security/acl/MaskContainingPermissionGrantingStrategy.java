@@ -0,0 +1,24 @@
+package com.example.taskmanagementapp.security.acl;
+
+import org.springframework.security.acls.domain.AuditLogger;
+import org.springframework.security.acls.domain.DefaultPermissionGrantingStrategy;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.Permission;
+
+/**
+ * Lets an entry with a combined mask, such as a {@link com.example.taskmanagementapp.model.WorkspaceRole}
+ * entry, decide every permission it contains. The default strategy only matches entries whose mask equals
+ * the requested one.
+ */
+public class MaskContainingPermissionGrantingStrategy extends DefaultPermissionGrantingStrategy {
+
+    public MaskContainingPermissionGrantingStrategy(AuditLogger auditLogger) {
+        super(auditLogger);
+    }
+
+    @Override
+    protected boolean isGranted(AccessControlEntry ace, Permission p) {
+        int required = p.getMask();
+        return required != 0 && (ace.getPermission().getMask() & required) == required;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskmanagementapp.security.acl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.acls.jdbc.LookupStrategy;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Sid;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records how long ACL resolution takes. Cache hits are answered by the delegate too, so the timer
+ * reads together with the {@code cache.gets} metrics of the ACL cache.
+ */
+public class TimedLookupStrategy implements LookupStrategy {
+
+    private final LookupStrategy delegate;
+
+    private final Timer lookupTimer;
+
+    public TimedLookupStrategy(LookupStrategy delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.lookupTimer = Timer.builder("acl.lookup.time")
+                .description("Time spent resolving ACLs through the lookup strategy")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Map<ObjectIdentity, Acl> readAclsById(List<ObjectIdentity> objects, List<Sid> sids) {
+        return lookupTimer.record(() -> delegate.readAclsById(objects, sids));
+    }
+}
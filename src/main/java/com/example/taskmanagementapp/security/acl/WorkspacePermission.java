@@ -0,0 +1,69 @@
+package com.example.taskmanagementapp.security.acl;
+
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.model.Permission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires a permission on the workspace that one of the method's arguments leads to. Checked by
+ * {@link WorkspaceAuthorizationManager} with a rule compiled once per method, in place of a
+ * {@code hasPermission(...)} expression. When repeated, every requirement has to be met.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Repeatable(WorkspacePermissions.class)
+public @interface WorkspacePermission {
+
+    Access value();
+
+    /**
+     * Name of the argument the workspace is resolved from.
+     */
+    String argument() default "id";
+
+    Source source() default Source.WORKSPACE_ID;
+
+    enum Access {
+        READ(BasePermission.READ),
+        WRITE(BasePermission.WRITE),
+        CREATE(BasePermission.CREATE),
+        DELETE(BasePermission.DELETE),
+        ADMINISTRATION(BasePermission.ADMINISTRATION);
+
+        private final int mask;
+
+        Access(Permission permission) {
+            this.mask = permission.getMask();
+        }
+
+        public int getMask() {
+            return mask;
+        }
+    }
+
+    enum Source {
+        /**
+         * The argument is the workspace id.
+         */
+        WORKSPACE_ID,
+        /**
+         * The argument is the id of a task in the workspace.
+         */
+        TASK_ID,
+        /**
+         * The argument is a task that references its workspace.
+         */
+        TASK,
+        /**
+         * The argument is an organization id; the permission is required on the organization itself.
+         */
+        ORGANIZATION_ID
+    }
+}
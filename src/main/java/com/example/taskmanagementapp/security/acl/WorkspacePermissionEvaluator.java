@@ -0,0 +1,101 @@
+package com.example.taskmanagementapp.security.acl;
+
+import com.example.taskmanagementapp.model.Organization;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.security.UserPrincipal;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.acls.domain.DefaultPermissionFactory;
+import org.springframework.security.acls.domain.PermissionFactory;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+
+/**
+ * Answers workspace and organization permission checks from {@link WorkspacePermissionIndex} and leaves everything
+ * the index cannot answer (other types, unresolved workspaces, unusual principals) to the delegate.
+ */
+public class WorkspacePermissionEvaluator implements PermissionEvaluator {
+
+    private static final String WORKSPACE_TYPE = Workspace.class.getName();
+
+    private static final String ORGANIZATION_TYPE = Organization.class.getName();
+
+    private final PermissionEvaluator delegate;
+
+    private final WorkspacePermissionIndex workspacePermissionIndex;
+
+    private static final PermissionFactory PERMISSION_FACTORY = new DefaultPermissionFactory();
+
+    public WorkspacePermissionEvaluator(PermissionEvaluator delegate, WorkspacePermissionIndex workspacePermissionIndex) {
+        this.delegate = delegate;
+        this.workspacePermissionIndex = workspacePermissionIndex;
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        if (targetDomainObject instanceof Workspace workspace && workspace.getId() != null) {
+            int decision = decide(authentication, false, workspace.getId(), permission);
+            if (decision != WorkspacePermissionIndex.UNKNOWN) {
+                return decision == 1;
+            }
+        } else if (targetDomainObject instanceof Organization organization && organization.getId() != null) {
+            int decision = decide(authentication, true, organization.getId(), permission);
+            if (decision != WorkspacePermissionIndex.UNKNOWN) {
+                return decision == 1;
+            }
+        }
+        return delegate.hasPermission(authentication, targetDomainObject, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        boolean organization = ORGANIZATION_TYPE.equals(targetType);
+        if ((organization || WORKSPACE_TYPE.equals(targetType)) && targetId instanceof Number id) {
+            int decision = decide(authentication, organization, id.longValue(), permission);
+            if (decision != WorkspacePermissionIndex.UNKNOWN) {
+                return decision == 1;
+            }
+        }
+        return delegate.hasPermission(authentication, targetId, targetType, permission);
+    }
+
+    /**
+     * @return {@code 1} if granted, {@code 0} if not, {@link WorkspacePermissionIndex#UNKNOWN} if the index cannot tell
+     */
+    private int decide(Authentication authentication, boolean organization, long id, Object permission) {
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return WorkspacePermissionIndex.UNKNOWN;
+        }
+        int required = requiredMask(permission);
+        if (required == 0) {
+            return WorkspacePermissionIndex.UNKNOWN;
+        }
+        int mask = organization ? workspacePermissionIndex.getOrganizationMask(principal.getId(), id)
+                : workspacePermissionIndex.getMask(principal.getId(), id);
+        if (mask == WorkspacePermissionIndex.UNKNOWN) {
+            return WorkspacePermissionIndex.UNKNOWN;
+        }
+        return (mask & required) == required ? 1 : 0;
+    }
+
+    /**
+     * @return the mask a permission argument ({@link Permission}, mask or name) stands for, {@code 0} if unknown
+     */
+    static int requiredMask(Object permission) {
+        if (permission instanceof Permission aclPermission) {
+            return aclPermission.getMask();
+        }
+        if (permission instanceof Integer mask) {
+            return mask;
+        }
+        if (permission instanceof String name) {
+            try {
+                return PERMISSION_FACTORY.buildFromName(name.toUpperCase()).getMask();
+            } catch (IllegalArgumentException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+}
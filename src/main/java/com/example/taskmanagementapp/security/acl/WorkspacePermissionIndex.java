@@ -0,0 +1,474 @@
+package com.example.taskmanagementapp.security.acl;
+
+import com.example.taskmanagementapp.model.Organization;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.model.WorkspaceRole;
+import com.example.taskmanagementapp.repository.UserRepository;
+import com.example.taskmanagementapp.util.LongLongHashMap;
+import com.example.taskmanagementapp.util.LongPairIntHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Effective {@code BasePermission} mask of every (user, workspace) pair, built from the workspace ACLs and the
+ * ACLs of the organizations they inherit from. Reads are lock-free in the common case (optimistic
+ * {@link StampedLock} read over primitive maps).
+ * <p>
+ * Masks follow the ACE order the way {@code DefaultPermissionGrantingStrategy} does: the user's own entries
+ * are consulted first, then the entries of the user's {@link WorkspaceRole}, and the first entry mentioning a
+ * bit decides it. Role entries are expanded to the role's members from {@code workspace_member_roles}, so
+ * membership changes have to be reported through {@link #refresh}. Workspaces with entries for any other
+ * authority cannot be resolved per user and are reported as {@link #UNKNOWN}, as is everything before the
+ * initial load.
+ * <p>
+ * Inheritance follows {@code parent_object} of the ACLs with {@code entries_inheriting} set, kept here as a
+ * parent tree over workspaces and organizations. Bits a node's entries leave undecided for the user are decided
+ * by its parent, as the permission check does when it falls back to the parent ACL, so a lookup costs O(depth)
+ * map reads and no parent ACL is ever loaded for it. Organization ACLs hold principal entries only, entries for
+ * an authority make them {@link #UNKNOWN} too.
+ * <p>
+ * Changes made inside a transaction are kept in an overlay bound to it, which only that transaction reads,
+ * and are published to everyone once it has committed. A rolled back transaction just drops its overlay.
+ * Writers are serialized with the initial load, which scans while holding them off, so a change committed
+ * meanwhile is applied on top of the loaded state rather than cleared by it.
+ */
+@Component
+public class WorkspacePermissionIndex {
+
+    public static final int UNKNOWN = -1;
+
+    private static final String WORKSPACE_CLASS = Workspace.class.getName();
+
+    private static final String ORGANIZATION_CLASS = Organization.class.getName();
+
+    /**
+     * Marker row: the pair (0, node) is set for nodes the index cannot answer for.
+     */
+    private static final long UNRESOLVED_MARKER = 0L;
+
+    /**
+     * Parent of a node without one; {@code 0} is never a node, as ids start at 1.
+     */
+    private static final long NO_PARENT = 0L;
+
+    /**
+     * Bounds the walk up the parent tree, so a cycle written to {@code acl_object_identity} cannot hang a check.
+     */
+    private static final int MAX_DEPTH = 8;
+
+    private static final String ENTRIES_QUERY = """
+            SELECT oi.object_id_identity, e.mask, e.granting, s.principal, u.id, s.sid, c.class
+            FROM acl_entry e
+            JOIN acl_object_identity oi ON oi.id = e.acl_object_identity
+            JOIN acl_class c ON c.id = oi.object_id_class
+            JOIN acl_sid s ON s.id = e.sid
+            LEFT JOIN users u ON s.principal = TRUE AND u.email = s.sid
+            WHERE c.class IN (?, ?)""";
+
+    private static final String PARENTS_QUERY = """
+            SELECT c.class, oi.object_id_identity, pc.class, p.object_id_identity
+            FROM acl_object_identity oi
+            JOIN acl_class c ON c.id = oi.object_id_class
+            JOIN acl_object_identity p ON p.id = oi.parent_object
+            JOIN acl_class pc ON pc.id = p.object_id_class
+            WHERE oi.entries_inheriting = TRUE AND c.class IN (?, ?)""";
+
+    private static final String ONE_OBJECT = " AND c.class = ? AND oi.object_id_identity = ?";
+
+    private static final String ORDER_BY = " ORDER BY oi.id, e.ace_order";
+
+    private static final String ROLES_QUERY = "SELECT workspace_id, user_id, role FROM workspace_member_roles";
+
+    private JdbcTemplate jdbcTemplate;
+
+    private UserRepository userRepository;
+
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Nodes are workspace ids, and negated organization ids for organizations.
+     */
+    private final LongPairIntHashMap masks = new LongPairIntHashMap(1024);
+
+    /**
+     * Bits the node's entries decide for the user, granted or denied; the rest is left to the parent.
+     */
+    private final LongPairIntHashMap decidedMasks = new LongPairIntHashMap(1024);
+
+    private final Map<Long, long[]> usersByNode = new HashMap<>();
+
+    private final LongLongHashMap parents = new LongLongHashMap(1024);
+
+    private volatile boolean loaded;
+
+    @Autowired
+    public WorkspacePermissionIndex(JdbcTemplate jdbcTemplate, UserRepository userRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * @return the effective mask, {@code 0} if the user holds nothing on the workspace,
+     * or {@link #UNKNOWN} if the ACL has to be evaluated instead
+     */
+    public int getMask(long userId, long workspaceId) {
+        return getNodeMask(userId, workspaceId);
+    }
+
+    /**
+     * @return the effective mask on the organization itself, as {@link #getMask} does for workspaces
+     */
+    public int getOrganizationMask(long userId, long organizationId) {
+        return getNodeMask(userId, -organizationId);
+    }
+
+    /**
+     * @return whether the index keeps the masks of the object, i.e. it is a workspace or an organization
+     */
+    public boolean isIndexed(ObjectIdentity objectIdentity) {
+        return WORKSPACE_CLASS.equals(objectIdentity.getType()) || ORGANIZATION_CLASS.equals(objectIdentity.getType());
+    }
+
+    private int getNodeMask(long userId, long node) {
+        if (!loaded) {
+            return UNKNOWN;
+        }
+        Map<Long, PendingNode> overlay = currentOverlay();
+        long stamp = lock.tryOptimisticRead();
+        int mask = lookup(userId, node, overlay);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                mask = lookup(userId, node, overlay);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return mask;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        Map<Long, Map<WorkspaceRole, List<Long>>> roles = new HashMap<>();
+        jdbcTemplate.query(ROLES_QUERY, rs -> {
+            addMember(roles.computeIfAbsent(rs.getLong(1), workspaceId -> new EnumMap<>(WorkspaceRole.class)),
+                    rs.getLong(2), rs.getString(3));
+        });
+        Map<Long, NodeMasks> nodes = new LinkedHashMap<>();
+        jdbcTemplate.query(ENTRIES_QUERY + ORDER_BY, rs -> {
+            long node = node(rs.getString(7), rs.getString(1));
+            nodes.computeIfAbsent(node, n -> new NodeMasks(n, roles.getOrDefault(n, Map.of())))
+                    .add(rs.getBoolean(4), rs.getObject(5, Long.class), rs.getString(6), rs.getInt(2), rs.getBoolean(3));
+        }, WORKSPACE_CLASS, ORGANIZATION_CLASS);
+        List<long[]> loadedParents = new ArrayList<>();
+        jdbcTemplate.query(PARENTS_QUERY, rs -> {
+            long parent = parentNode(rs.getString(3), rs.getString(4));
+            if (parent != NO_PARENT) {
+                loadedParents.add(new long[]{node(rs.getString(1), rs.getString(2)), parent});
+            }
+        }, WORKSPACE_CLASS, ORGANIZATION_CLASS);
+
+        long stamp = lock.writeLock();
+        try {
+            masks.clear();
+            decidedMasks.clear();
+            usersByNode.clear();
+            parents.clear();
+            loadedParents.forEach(pair -> parents.put(pair[0], pair[1]));
+            nodes.values().forEach(nodeMasks -> replace(nodeMasks.resolve()));
+            loaded = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Re-indexes a workspace or organization, including its parent, from an ACL that was just written.
+     * Other transactions see the result once the surrounding one has committed.
+     */
+    public void update(Acl acl) {
+        if (!isIndexed(acl.getObjectIdentity())) {
+            return;
+        }
+        long node = node(acl.getObjectIdentity());
+        Set<String> emails = new HashSet<>();
+        acl.getEntries().forEach(entry -> {
+            if (entry.getSid() instanceof PrincipalSid principalSid) {
+                emails.add(principalSid.getPrincipal());
+            }
+        });
+        Map<String, Long> userIds = new HashMap<>();
+        if (!emails.isEmpty()) {
+            userRepository.findIdsByEmails(emails).forEach(row -> userIds.put((String) row[1], (Long) row[0]));
+        }
+
+        NodeMasks nodeMasks = new NodeMasks(node, loadRoles(node));
+        for (AccessControlEntry entry : acl.getEntries()) {
+            if (entry.getSid() instanceof PrincipalSid principalSid) {
+                nodeMasks.add(true, userIds.get(principalSid.getPrincipal()), null,
+                        entry.getPermission().getMask(), entry.isGranting());
+            } else {
+                String authority = entry.getSid() instanceof GrantedAuthoritySid authoritySid
+                        ? authoritySid.getGrantedAuthority() : null;
+                nodeMasks.add(false, null, authority, entry.getPermission().getMask(), entry.isGranting());
+            }
+        }
+        Acl parentAcl = acl.isEntriesInheriting() ? acl.getParentAcl() : null;
+        long parent = parentAcl != null ? parentNode(parentAcl.getObjectIdentity().getType(),
+                parentAcl.getObjectIdentity().getIdentifier().toString()) : NO_PARENT;
+        publish(nodeMasks.resolve(), parent);
+    }
+
+    /**
+     * Re-indexes a workspace after its members or their roles changed, which does not touch the ACL itself.
+     * Like {@link #update}, it has to run after the change was written in the surrounding transaction.
+     */
+    public void refresh(long workspaceId) {
+        reload(workspaceId);
+    }
+
+    public void remove(ObjectIdentity objectIdentity) {
+        if (!isIndexed(objectIdentity)) {
+            return;
+        }
+        publish(new NodeMasks(node(objectIdentity), Map.of()), NO_PARENT);
+    }
+
+    private void reload(long node) {
+        String type = node > 0 ? WORKSPACE_CLASS : ORGANIZATION_CLASS;
+        String identifier = String.valueOf(Math.abs(node));
+        NodeMasks nodeMasks = new NodeMasks(node, loadRoles(node));
+        jdbcTemplate.query(ENTRIES_QUERY + ONE_OBJECT + ORDER_BY, rs -> {
+            nodeMasks.add(rs.getBoolean(4), rs.getObject(5, Long.class), rs.getString(6), rs.getInt(2),
+                    rs.getBoolean(3));
+        }, WORKSPACE_CLASS, ORGANIZATION_CLASS, type, identifier);
+        List<Long> parent = jdbcTemplate.query(PARENTS_QUERY + ONE_OBJECT,
+                (rs, rowNum) -> parentNode(rs.getString(3), rs.getString(4)),
+                WORKSPACE_CLASS, ORGANIZATION_CLASS, type, identifier);
+        publish(nodeMasks.resolve(), parent.isEmpty() ? NO_PARENT : parent.get(0));
+    }
+
+    private Map<WorkspaceRole, List<Long>> loadRoles(long node) {
+        if (node < 0) {
+            return Map.of();
+        }
+        Map<WorkspaceRole, List<Long>> roles = new EnumMap<>(WorkspaceRole.class);
+        jdbcTemplate.query(ROLES_QUERY + " WHERE workspace_id = ?", rs -> {
+            addMember(roles, rs.getLong(2), rs.getString(3));
+        }, node);
+        return roles;
+    }
+
+    private static long node(ObjectIdentity objectIdentity) {
+        return node(objectIdentity.getType(), objectIdentity.getIdentifier().toString());
+    }
+
+    private static long node(String type, String identifier) {
+        long id = Long.parseLong(identifier);
+        return WORKSPACE_CLASS.equals(type) ? id : -id;
+    }
+
+    /**
+     * @return the node of the parent, or {@link #NO_PARENT} if the parent is of a type the index does not keep
+     */
+    private static long parentNode(String type, String identifier) {
+        if (!WORKSPACE_CLASS.equals(type) && !ORGANIZATION_CLASS.equals(type)) {
+            return NO_PARENT;
+        }
+        return node(type, identifier);
+    }
+
+    private static void addMember(Map<WorkspaceRole, List<Long>> roles, long userId, String role) {
+        roles.computeIfAbsent(WorkspaceRole.valueOf(role), r -> new ArrayList<>()).add(userId);
+    }
+
+    private int lookup(long userId, long node, Map<Long, PendingNode> overlay) {
+        int granted = 0;
+        int decided = 0;
+        for (int depth = 0; depth < MAX_DEPTH; depth++) {
+            PendingNode pending = overlay != null ? overlay.get(node) : null;
+            long parent;
+            if (pending != null) {
+                if (pending.masks().unresolved) {
+                    return UNKNOWN;
+                }
+                granted |= pending.masks().granted.getOrDefault(userId, 0) & ~decided;
+                decided |= pending.masks().decided.getOrDefault(userId, 0);
+                parent = pending.parent();
+            } else {
+                if (masks.get(UNRESOLVED_MARKER, node, 0) != 0) {
+                    return UNKNOWN;
+                }
+                granted |= masks.get(userId, node, 0) & ~decided;
+                decided |= decidedMasks.get(userId, node, 0);
+                parent = parents.get(node, NO_PARENT);
+            }
+            if (parent == NO_PARENT) {
+                return granted;
+            }
+            node = parent;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Waits for a running load, whose result the node is then replaced in.
+     */
+    private synchronized void replaceLocked(NodeMasks nodeMasks, long parent) {
+        long stamp = lock.writeLock();
+        try {
+            replace(nodeMasks);
+            if (parent != NO_PARENT) {
+                parents.put(nodeMasks.node, parent);
+            } else {
+                parents.remove(nodeMasks.node);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void replace(NodeMasks nodeMasks) {
+        long node = nodeMasks.node;
+        long[] previousUsers = usersByNode.remove(node);
+        if (previousUsers != null) {
+            for (long userId : previousUsers) {
+                masks.remove(userId, node);
+                decidedMasks.remove(userId, node);
+            }
+        }
+        masks.remove(UNRESOLVED_MARKER, node);
+
+        if (nodeMasks.unresolved) {
+            masks.put(UNRESOLVED_MARKER, node, 1);
+        }
+        long[] users = new long[nodeMasks.decided.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> decided : nodeMasks.decided.entrySet()) {
+            long userId = decided.getKey();
+            users[i++] = userId;
+            decidedMasks.put(userId, node, decided.getValue());
+            int granted = nodeMasks.granted.getOrDefault(userId, 0);
+            if (granted != 0) {
+                masks.put(userId, node, granted);
+            }
+        }
+        if (users.length > 0) {
+            usersByNode.put(node, users);
+        }
+    }
+
+    /**
+     * Replaces the node right away outside of a transaction, otherwise in the transaction's overlay until it
+     * has committed.
+     */
+    private void publish(NodeMasks nodeMasks, long parent) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            replaceLocked(nodeMasks, parent);
+            return;
+        }
+        Map<Long, PendingNode> overlay = currentOverlay();
+        if (overlay == null) {
+            Map<Long, PendingNode> pending = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.values().forEach(node -> replaceLocked(node.masks(), node.parent()));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(WorkspacePermissionIndex.this);
+                }
+            });
+            overlay = pending;
+        }
+        overlay.put(nodeMasks.node, new PendingNode(nodeMasks, parent));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, PendingNode> currentOverlay() {
+        return (Map<Long, PendingNode>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private record PendingNode(NodeMasks masks, long parent) {
+    }
+
+    /**
+     * Folds one node's entries into per-user masks: principal entries in ACE order first, then role
+     * entries in ACE order for every member of the role.
+     */
+    private static final class NodeMasks {
+
+        private final long node;
+
+        private final Map<WorkspaceRole, List<Long>> members;
+
+        private final List<RoleEntry> roleEntries = new ArrayList<>();
+
+        private final Map<Long, Integer> granted = new HashMap<>();
+
+        private final Map<Long, Integer> decided = new HashMap<>();
+
+        private boolean unresolved;
+
+        private NodeMasks(long node, Map<WorkspaceRole, List<Long>> members) {
+            this.node = node;
+            this.members = members;
+        }
+
+        private void add(boolean principal, Long userId, String sid, int mask, boolean granting) {
+            if (principal) {
+                if (userId != null) {
+                    decide(userId, mask, granting);
+                }
+                return;
+            }
+            // role sids only exist for workspaces
+            WorkspaceRole role = node > 0 ? WorkspaceRole.fromSid(node, sid) : null;
+            if (role == null) {
+                unresolved = true;
+            } else {
+                roleEntries.add(new RoleEntry(role, mask, granting));
+            }
+        }
+
+        private NodeMasks resolve() {
+            if (!unresolved) {
+                for (RoleEntry entry : roleEntries) {
+                    for (long userId : members.getOrDefault(entry.role(), List.of())) {
+                        decide(userId, entry.mask(), entry.granting());
+                    }
+                }
+            }
+            roleEntries.clear();
+            return this;
+        }
+
+        private void decide(long userId, int mask, boolean granting) {
+            int decidedBits = decided.getOrDefault(userId, 0);
+            int undecidedBits = mask & ~decidedBits;
+            if (granting && undecidedBits != 0) {
+                granted.merge(userId, undecidedBits, (a, b) -> a | b);
+            }
+            decided.put(userId, decidedBits | mask);
+        }
+
+        private record RoleEntry(WorkspaceRole role, int mask, boolean granting) {
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.taskmanagementapp.security.acl;
+
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.model.WorkspaceRole;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipRepository;
+import org.springframework.security.acls.domain.AuditLogger;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Adds the group sid of the caller's role in the workspace being checked, so ACL checks that are not answered
+ * by {@link WorkspacePermissionIndex} still see role entries. Only that one role is looked up, and it is
+ * remembered for the rest of the request until {@link #evictRoles} is called for the workspace.
+ */
+public class WorkspaceRoleGrantingStrategy extends MaskContainingPermissionGrantingStrategy {
+
+    private static final String ROLES_ATTRIBUTE = WorkspaceRoleGrantingStrategy.class.getName() + ".roles";
+
+    private static final String WORKSPACE_CLASS = Workspace.class.getName();
+
+    private final WorkspaceMembershipRepository membershipRepository;
+
+    public WorkspaceRoleGrantingStrategy(AuditLogger auditLogger, WorkspaceMembershipRepository membershipRepository) {
+        super(auditLogger);
+        this.membershipRepository = membershipRepository;
+    }
+
+    @Override
+    public boolean isGranted(Acl acl, List<Permission> permission, List<Sid> sids, boolean administrativeMode) {
+        return super.isGranted(acl, permission, withRoleSid(acl.getObjectIdentity(), sids), administrativeMode);
+    }
+
+    /**
+     * Forgets the roles remembered for the workspace during the current request, after its members changed.
+     */
+    public static void evictRoles(Long workspaceId) {
+        Map<RoleKey, Optional<WorkspaceRole>> roles = roles(false);
+        if (roles != null) {
+            roles.keySet().removeIf(key -> key.workspaceId() == workspaceId);
+        }
+    }
+
+    private List<Sid> withRoleSid(ObjectIdentity objectIdentity, List<Sid> sids) {
+        if (!WORKSPACE_CLASS.equals(objectIdentity.getType())) {
+            return sids;
+        }
+        String principal = sids.stream()
+                .filter(PrincipalSid.class::isInstance)
+                .map(sid -> ((PrincipalSid) sid).getPrincipal())
+                .findFirst()
+                .orElse(null);
+        if (principal == null) {
+            return sids;
+        }
+        long workspaceId = Long.parseLong(objectIdentity.getIdentifier().toString());
+        WorkspaceRole role = findRole(workspaceId, principal);
+        if (role == null) {
+            return sids;
+        }
+        List<Sid> allSids = new ArrayList<>(sids.size() + 1);
+        allSids.addAll(sids);
+        allSids.add(role.sid(workspaceId));
+        return allSids;
+    }
+
+    private WorkspaceRole findRole(long workspaceId, String principal) {
+        Map<RoleKey, Optional<WorkspaceRole>> roles = roles(true);
+        if (roles == null) {
+            return membershipRepository.findRole(workspaceId, principal);
+        }
+        return roles.computeIfAbsent(new RoleKey(workspaceId, principal),
+                key -> Optional.ofNullable(membershipRepository.findRole(workspaceId, principal))).orElse(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<RoleKey, Optional<WorkspaceRole>> roles(boolean create) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        Map<RoleKey, Optional<WorkspaceRole>> roles = (Map<RoleKey, Optional<WorkspaceRole>>)
+                requestAttributes.getAttribute(ROLES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (roles == null && create) {
+            roles = new HashMap<>();
+            requestAttributes.setAttribute(ROLES_ATTRIBUTE, roles, RequestAttributes.SCOPE_REQUEST);
+        }
+        return roles;
+    }
+
+    private record RoleKey(long workspaceId, String principal) {
+    }
+}
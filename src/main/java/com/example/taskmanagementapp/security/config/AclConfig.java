@@ -1,18 +1,43 @@
 package com.example.taskmanagementapp.security.config;
 
+import com.example.taskmanagementapp.repository.WorkspaceMembershipRepository;
+import com.example.taskmanagementapp.security.acl.WorkspaceAuthorizationManager;
+import com.example.taskmanagementapp.security.acl.WorkspacePermission;
+import com.example.taskmanagementapp.security.acl.WorkspacePermissions;
+import com.example.taskmanagementapp.service.TaskService;
+import com.example.taskmanagementapp.security.acl.AclIdentityCache;
+import com.example.taskmanagementapp.security.acl.DecisionCachingPermissionEvaluator;
+import com.example.taskmanagementapp.security.acl.IndexingMutableAclService;
+import com.example.taskmanagementapp.security.acl.TimedLookupStrategy;
+import com.example.taskmanagementapp.security.acl.WorkspacePermissionEvaluator;
+import com.example.taskmanagementapp.security.acl.WorkspacePermissionIndex;
+import com.example.taskmanagementapp.security.acl.WorkspaceRoleGrantingStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.Pointcuts;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.acls.AclPermissionEvaluator;
 import org.springframework.security.acls.domain.*;
 import org.springframework.security.acls.jdbc.BasicLookupStrategy;
 import org.springframework.security.acls.jdbc.JdbcMutableAclService;
+import org.springframework.security.acls.jdbc.LookupStrategy;
 import org.springframework.security.acls.model.AclCache;
 import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.access.expression.DefaultHttpSecurityExpressionHandler;
@@ -25,26 +50,48 @@ import javax.sql.DataSource;
 public class AclConfig {
 
     @Bean
-    public JdbcMutableAclService jdbcMutableAclService(DataSource dataSource, CacheManager cacheManager) {
-
-        AclAuthorizationStrategy aclAuthorizationStrategy = new AclAuthorizationStrategyImpl(
-                new SimpleGrantedAuthority("ROLE_ADMIN")
-        );
+    public AclAuthorizationStrategy aclAuthorizationStrategy() {
+        return new AclAuthorizationStrategyImpl(new SimpleGrantedAuthority("ROLE_ADMIN"));
+    }
 
-        ConsoleAuditLogger auditLogger = new ConsoleAuditLogger();
+    @Bean
+    public PermissionGrantingStrategy permissionGrantingStrategy(WorkspaceMembershipRepository membershipRepository) {
+        return new WorkspaceRoleGrantingStrategy(new ConsoleAuditLogger(), membershipRepository);
+    }
 
-        AclCache aclCache = new SpringCacheBasedAclCache(
-                cacheManager.getCache("security/acl"), new DefaultPermissionGrantingStrategy(
-                auditLogger), aclAuthorizationStrategy
+    @Bean
+    public AclCache aclCache(CacheManager cacheManager, AclAuthorizationStrategy aclAuthorizationStrategy,
+                             PermissionGrantingStrategy permissionGrantingStrategy) {
+        return new SpringCacheBasedAclCache(
+                cacheManager.getCache(CacheConfig.ACL_CACHE), permissionGrantingStrategy, aclAuthorizationStrategy
         );
+    }
 
+    @Bean
+    public LookupStrategy lookupStrategy(DataSource dataSource, AclCache aclCache,
+                                         AclAuthorizationStrategy aclAuthorizationStrategy,
+                                         PermissionGrantingStrategy permissionGrantingStrategy, MeterRegistry meterRegistry,
+                                         @Value("${acl.lookup.batch.size}") int batchSize) {
         BasicLookupStrategy lookupStrategy = new BasicLookupStrategy(
-                dataSource, aclCache, aclAuthorizationStrategy, auditLogger
-
+                dataSource, aclCache, aclAuthorizationStrategy, permissionGrantingStrategy
         );
         lookupStrategy.setAclClassIdSupported(true);
-        JdbcMutableAclService jdbcMutableAclService = new JdbcMutableAclService(
-                dataSource, lookupStrategy, aclCache);
+        lookupStrategy.setBatchSize(batchSize);
+        return new TimedLookupStrategy(lookupStrategy, meterRegistry);
+    }
+
+    @Bean
+    public AclIdentityCache aclIdentityCache(@Value("${acl.identity.cache.size}") long maximumSize) {
+        return new AclIdentityCache(maximumSize);
+    }
+
+    @Bean
+    public JdbcMutableAclService jdbcMutableAclService(DataSource dataSource, LookupStrategy lookupStrategy,
+                                                       AclCache aclCache,
+                                                       WorkspacePermissionIndex workspacePermissionIndex,
+                                                       AclIdentityCache aclIdentityCache) {
+        JdbcMutableAclService jdbcMutableAclService = new IndexingMutableAclService(
+                dataSource, lookupStrategy, aclCache, workspacePermissionIndex, aclIdentityCache);
         jdbcMutableAclService.setClassIdentityQuery("SELECT @@IDENTITY");
         jdbcMutableAclService.setSidIdentityQuery("SELECT @@IDENTITY");
         jdbcMutableAclService.setAclClassIdSupported(true);
@@ -58,7 +105,37 @@ public class AclConfig {
     }
 
     @Bean
-    public DefaultMethodSecurityExpressionHandler methodSecurityExpressionHandler(AclPermissionEvaluator permissionEvaluator,
+    public WorkspacePermissionEvaluator workspacePermissionEvaluator(AclPermissionEvaluator permissionEvaluator,
+                                                                     WorkspacePermissionIndex workspacePermissionIndex) {
+        return new WorkspacePermissionEvaluator(permissionEvaluator, workspacePermissionIndex);
+    }
+
+    @Bean
+    public DecisionCachingPermissionEvaluator decisionCachingPermissionEvaluator(WorkspacePermissionEvaluator permissionEvaluator,
+                                                                                 MeterRegistry meterRegistry) {
+        return new DecisionCachingPermissionEvaluator(permissionEvaluator, meterRegistry);
+    }
+
+    @Bean
+    public WorkspaceAuthorizationManager workspaceAuthorizationManager(DecisionCachingPermissionEvaluator permissionEvaluator,
+                                                                       ObjectProvider<TaskService> taskService) {
+        return new WorkspaceAuthorizationManager(permissionEvaluator,
+                taskId -> taskService.getObject().findWorkspaceIdByTaskId(taskId));
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor workspacePermissionAuthorizationAdvisor(ObjectProvider<WorkspaceAuthorizationManager> manager) {
+        // resolved lazily, advisors are created before the beans the manager depends on
+        AuthorizationManager<MethodInvocation> authorizationManager =
+                (authentication, invocation) -> manager.getObject().check(authentication, invocation);
+        return new AuthorizationManagerBeforeMethodInterceptor(Pointcuts.union(
+                new AnnotationMatchingPointcut(null, WorkspacePermission.class, true),
+                new AnnotationMatchingPointcut(null, WorkspacePermissions.class, true)), authorizationManager);
+    }
+
+    @Bean
+    public DefaultMethodSecurityExpressionHandler methodSecurityExpressionHandler(DecisionCachingPermissionEvaluator permissionEvaluator,
                                                                                   ApplicationContext applicationContext){
         DefaultMethodSecurityExpressionHandler methodSecurityExpressionHandler =
                 new DefaultMethodSecurityExpressionHandler();
@@ -68,7 +145,7 @@ public class AclConfig {
     }
 
     @Bean
-    public DefaultHttpSecurityExpressionHandler defaultHttpSecurityExpressionHandler(AclPermissionEvaluator permissionEvaluator,
+    public DefaultHttpSecurityExpressionHandler defaultHttpSecurityExpressionHandler(DecisionCachingPermissionEvaluator permissionEvaluator,
                                                                                 ApplicationContext applicationContext){
         DefaultHttpSecurityExpressionHandler httpSecurityExpressionHandler = new DefaultHttpSecurityExpressionHandler();
         httpSecurityExpressionHandler.setPermissionEvaluator(permissionEvaluator);
@@ -0,0 +1,63 @@
+package com.example.taskmanagementapp.security.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.acls.model.Acl;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+
+    public static final String ROLES_CACHE = "roles";
+
+    public static final String ACL_CACHE = "security/acl";
+
+    @Value("${cache.users.size}")
+    private Long usersCacheSize;
+
+    @Value("${cache.users.ttl}")
+    private Long usersCacheTtl;
+
+    @Value("${cache.roles.size}")
+    private Long rolesCacheSize;
+
+    @Value("${cache.roles.ttl}")
+    private Long rolesCacheTtl;
+
+    @Value("${cache.acl.max.weight}")
+    private Long aclCacheMaxWeight;
+
+    @Value("${cache.acl.ttl}")
+    private Long aclCacheTtl;
+
+    @Bean
+    CacheManagerCustomizer<CaffeineCacheManager> securityCachesCustomizer() {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(USERS_CACHE, Caffeine.newBuilder()
+                    .maximumSize(usersCacheSize)
+                    .expireAfterWrite(Duration.ofMillis(usersCacheTtl))
+                    .recordStats()
+                    .build());
+            cacheManager.registerCustomCache(ROLES_CACHE, Caffeine.newBuilder()
+                    .maximumSize(rolesCacheSize)
+                    .expireAfterWrite(Duration.ofMillis(rolesCacheTtl))
+                    .recordStats()
+                    .build());
+            // SpringCacheBasedAclCache stores every ACL twice (by object identity and by primary key),
+            // each copy weighs one plus its entry count so large workspaces count for what they hold
+            cacheManager.registerCustomCache(ACL_CACHE, Caffeine.newBuilder()
+                    .maximumWeight(aclCacheMaxWeight)
+                    .weigher((key, value) -> value instanceof Acl acl ? 1 + acl.getEntries().size() : 1)
+                    .expireAfterAccess(Duration.ofMillis(aclCacheTtl))
+                    .recordStats()
+                    .build());
+        };
+    }
+}
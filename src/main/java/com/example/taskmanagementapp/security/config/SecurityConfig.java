@@ -1,9 +1,17 @@
 package com.example.taskmanagementapp.security.config;
 
+import com.example.taskmanagementapp.security.BasicCredentialsCache;
+import com.example.taskmanagementapp.security.BoundedPasswordEncoder;
+import com.example.taskmanagementapp.security.CachingBasicAuthenticationProvider;
 import com.example.taskmanagementapp.security.CustomAuthenticationEntryPoint;
+import com.example.taskmanagementapp.security.CustomUserDetailsService;
 import com.example.taskmanagementapp.security.JwtTokenFilter;
+import com.example.taskmanagementapp.security.RateLimitFilter;
+import com.example.taskmanagementapp.security.RequestRateLimiter;
 import com.example.taskmanagementapp.security.UserSecurity;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -11,6 +19,8 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.acls.AclPermissionEvaluator;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -21,6 +31,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.expression.DefaultHttpSecurityExpressionHandler;
 import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 @Configuration
 @EnableWebSecurity
@@ -32,8 +43,35 @@ public class SecurityConfig {
     @Autowired
     private CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
 
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private BasicCredentialsCache basicCredentialsCache;
+
+    @Autowired
+    private RequestRateLimiter requestRateLimiter;
+
+    @Autowired
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    @Value("${password.hashing.pool.size}")
+    private Integer passwordHashingPoolSize;
+
+    @Value("${password.hashing.queue.capacity}")
+    private Integer passwordHashingQueueCapacity;
+
+    @Value("${password.hashing.timeout}")
+    private Long passwordHashingTimeout;
+
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
+        DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider();
+        daoAuthenticationProvider.setUserDetailsService(customUserDetailsService);
+        daoAuthenticationProvider.setPasswordEncoder(passwordEncoder);
+        http.authenticationManager(new ProviderManager(
+                new CachingBasicAuthenticationProvider(daoAuthenticationProvider, basicCredentialsCache)));
+
         http.httpBasic(httpBasicConfigurer -> {
             httpBasicConfigurer.init(http);
         });
@@ -42,11 +80,15 @@ public class SecurityConfig {
 
         http.authorizeHttpRequests(httpRequest -> {
             httpRequest.requestMatchers("/auth/**").permitAll()
+                    .requestMatchers("/actuator/health").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
+                    .requestMatchers("/admin/**").hasRole("ADMIN")
                     .requestMatchers("/users/").hasRole("ADMIN")
                     .requestMatchers("/users/{id}").access(userSecurity)
                     .anyRequest().authenticated();
         });
         http.addFilterBefore(jwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(new RateLimitFilter(requestRateLimiter, handlerExceptionResolver), JwtTokenFilter.class);
         http.exceptionHandling(httpSecurityExceptionHandlingConfigurer -> {
             httpSecurityExceptionHandlingConfigurer.authenticationEntryPoint(customAuthenticationEntryPoint);
         });
@@ -64,8 +106,9 @@ public class SecurityConfig {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12), passwordHashingPoolSize,
+                passwordHashingQueueCapacity, passwordHashingTimeout, meterRegistry);
     }
 }
 
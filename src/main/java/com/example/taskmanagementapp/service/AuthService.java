@@ -13,4 +13,8 @@ public interface AuthService {
 
     AccessTokenResponseDTO refreshToken(RefreshToken token);
 
+    void logout(String accessToken, RefreshToken refreshToken);
+
+    void revokeSessions(Long userId);
+
 }
@@ -0,0 +1,32 @@
+package com.example.taskmanagementapp.service;
+
+import com.example.taskmanagementapp.model.Organization;
+import com.example.taskmanagementapp.model.Workspace;
+
+import java.util.List;
+
+public interface OrganizationService {
+
+    /**
+     * Saves the organization and grants its creator every permission on it, and so on its workspaces.
+     */
+    Organization save(Organization entity);
+
+    Organization findById(Long id);
+
+    /**
+     * Moves the workspace into the organization: the organization's ACL becomes the parent of the workspace's ACL,
+     * which then inherits the organization's entries for every permission its own entries leave undecided.
+     */
+    Workspace addWorkspace(Long organizationId, Long workspaceId);
+
+    Workspace removeWorkspace(Long organizationId, Long workspaceId);
+
+    /**
+     * Grants the user permissions on the organization, and through inheritance on all of its workspaces,
+     * with a single ACL update.
+     */
+    void addPermissionsForUserInOrganization(Long organizationId, Long userId, List<String> permissions);
+
+    void removePermissionsForUserInOrganization(Long organizationId, Long userId, List<String> permissions);
+}
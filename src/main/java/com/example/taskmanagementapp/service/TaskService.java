@@ -2,14 +2,29 @@ package com.example.taskmanagementapp.service;
 
 import com.example.taskmanagementapp.model.Task;
 import com.example.taskmanagementapp.model.User;
+import org.springframework.data.domain.Pageable;
 
+import java.util.Date;
 import java.util.List;
 
 public interface TaskService extends GeneralService<Task, Long>{
 
     List<Task> findByWorkspaceId(Long id);
 
+    /**
+     * Resolves the workspace of a task with a projection, without loading the task itself.
+     */
+    Long findWorkspaceIdByTaskId(Long taskId);
+
     Task addPerformersToTask(Long taskId, List<Long>userIds);
 
     Task removePerformerFromTask(Long taskId, Long performerId);
+
+    /**
+     * Returns the tasks created by the current user that match the optional filters.
+     *
+     * @param afterId keyset cursor, the last id of the previous page; only valid with a pageable sorted by
+     *                ascending id, {@link com.example.taskmanagementapp.exception.InvalidCursorException} otherwise
+     */
+    List<Task> findCreatedTasks(String status, Date deadlineFrom, Date deadlineTo, Long afterId, Pageable pageable);
 }
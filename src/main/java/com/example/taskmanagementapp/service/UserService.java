@@ -2,17 +2,33 @@ package com.example.taskmanagementapp.service;
 
 import com.example.taskmanagementapp.model.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface UserService extends GeneralService<User, Long>{
 
     User findByEmail(String email);
+
+    User getReferenceById(Long id);
     Boolean existsByEmail(String email);
 
     List<User> findUsersByWorkspacesId(Long id);
 
     List<User>findUsersByTasksId(Long id);
 
-    Boolean existsByEmailAndWorkspacesId(String email, Long workspaceId);
+
+    List<User> findAllById(Collection<Long> ids);
+
+    /**
+     * Resolves ids to emails in one query without loading the users; unknown ids are left out.
+     */
+    Map<Long, String> findEmailsByIds(Collection<Long> ids);
+
+    /**
+     * Resolves emails to ids in one query without loading the users; unknown emails are left out.
+     * Emails match case-insensitively, as they do in the query, so the map is keyed the same way.
+     */
+    Map<String, Long> findIdsByEmails(Collection<String> emails);
 }
@@ -1,6 +1,9 @@
 package com.example.taskmanagementapp.service;
 
+import com.example.taskmanagementapp.dto.MembershipImportRequestDTO;
+import com.example.taskmanagementapp.dto.MembershipImportResultDTO;
 import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.model.WorkspaceRole;
 
 import java.util.List;
 import java.util.Optional;
@@ -8,11 +11,31 @@ import java.util.Optional;
 public interface WorkspaceService extends GeneralService<Workspace, Long>{
     Workspace addUsersToWorkspace(Long workspaceId, List<Long>userIds);
 
+    /**
+     * Adds users, given by id or email, to the workspace as {@link WorkspaceRole#VIEWER}. Users are resolved with
+     * one query, and memberships and roles are written in batches; the workspace ACL is left unchanged.
+     *
+     * @return one result per requested id and email, ids first, in request order
+     */
+    List<MembershipImportResultDTO> importMembers(Long workspaceId, MembershipImportRequestDTO request);
+
     Workspace removeUserFromWorkspace(Long workspaceId, Long userId);
 
+    /**
+     * Moves a member to another role. Only the membership changes, the role entries of the ACL stay as they are.
+     */
+    void changeMemberRole(Long workspaceId, Long userId, WorkspaceRole role);
+
     void addPermissionsForUserInWorkspace(Long workspaceId, Long userId, List<String> permissions);
 
     void removePermissionsForUserInWorkspace(Long workspaceId, Long userId, List<String>permissions);
 
     Workspace findByTasksId(Long id);
+
+    /**
+     * Returns the workspaces the current user can read, ordered by id.
+     *
+     * @param afterId keyset cursor, the last id of the previous page; when present {@code page} is ignored
+     */
+    List<Workspace> findReadable(Long afterId, int page, int size);
 }
@@ -9,9 +9,12 @@ import com.example.taskmanagementapp.exception.UserExistException;
 import com.example.taskmanagementapp.model.RefreshToken;
 import com.example.taskmanagementapp.model.User;
 import com.example.taskmanagementapp.repository.RoleRepository;
-import com.example.taskmanagementapp.security.CustomUserDetailsService;
+import com.example.taskmanagementapp.security.AccessTokenRevocationList;
 import com.example.taskmanagementapp.security.JwtTokenProvider;
+import com.example.taskmanagementapp.security.RefreshTokenEntry;
 import com.example.taskmanagementapp.security.RefreshTokenProvider;
+import com.example.taskmanagementapp.security.UserPrincipal;
+import com.example.taskmanagementapp.security.VerifiedToken;
 import com.example.taskmanagementapp.service.AuthService;
 import com.example.taskmanagementapp.service.UserService;
 import org.springframework.lang.NonNull;
@@ -30,8 +33,6 @@ public class AuthServiceImpl implements AuthService {
 
     private PasswordEncoder passwordEncoder;
 
-    private CustomUserDetailsService customUserDetailsService;
-
     private UserService userService;
 
     private JwtTokenProvider jwtTokenProvider;
@@ -42,20 +43,22 @@ public class AuthServiceImpl implements AuthService {
 
     private RefreshTokenProvider refreshTokenProvider;
 
+    private AccessTokenRevocationList accessTokenRevocationList;
+
     @Autowired
     public AuthServiceImpl(PasswordEncoder passwordEncoder,
-                           CustomUserDetailsService customUserDetailsService,
                            UserService userService, JwtTokenProvider jwtTokenProvider,
                            RoleRepository roleRepository,
                            AuthenticationManager authenticationManager,
-                           RefreshTokenProvider refreshTokenProvider) {
+                           RefreshTokenProvider refreshTokenProvider,
+                           AccessTokenRevocationList accessTokenRevocationList) {
         this.passwordEncoder = passwordEncoder;
-        this.customUserDetailsService = customUserDetailsService;
         this.userService = userService;
         this.jwtTokenProvider = jwtTokenProvider;
         this.roleRepository = roleRepository;
         this.authenticationManager = authenticationManager;
         this.refreshTokenProvider = refreshTokenProvider;
+        this.accessTokenRevocationList = accessTokenRevocationList;
     }
 
     @Override
@@ -83,9 +86,10 @@ public class AuthServiceImpl implements AuthService {
                         request.getEmail(), request.getPassword()
                 )
         );
-        User user = (User) customUserDetailsService.loadUserByUsername(request.getEmail());
-        String accessToken = jwtTokenProvider.generateToken(user);
-        RefreshToken refreshToken = refreshTokenProvider.generateRefreshToken(user);
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        String accessToken = jwtTokenProvider.generateToken(principal);
+        RefreshToken refreshToken = refreshTokenProvider.generateRefreshToken(
+                userService.getReferenceById(principal.getId()), request.getDeviceId());
         SecurityContextHolder.getContext().setAuthentication(authentication);
         AccessTokenResponseDTO loginResponse = AccessTokenResponseDTO
                 .builder().accessToken(accessToken)
@@ -96,17 +100,36 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AccessTokenResponseDTO refreshToken(@NonNull RefreshToken token) {
-        RefreshToken refreshToken1 = refreshTokenProvider.findByToken(token.getToken());
-        if (!refreshTokenProvider.validateRefreshToken(refreshToken1.getToken())) {
-            throw new RefreshTokenExpiredException(String.format("%s refresh token is expired!", refreshToken1.getToken()));
+        RefreshTokenEntry refreshToken = refreshTokenProvider.findByToken(token.getToken());
+        if (!refreshTokenProvider.validateRefreshToken(refreshToken)) {
+            throw new RefreshTokenExpiredException(String.format("%s refresh token is expired!", token.getToken()));
 
         }
-        String accessToken = jwtTokenProvider.generateToken(refreshToken1.getUser());
+        User user = userService.findById(refreshToken.getUserId());
+        RefreshToken nextRefreshToken = refreshTokenProvider.rotateRefreshToken(refreshToken, user);
+        String accessToken = jwtTokenProvider.generateToken(UserPrincipal.from(user));
         AccessTokenResponseDTO accessTokenResponseDTO = AccessTokenResponseDTO
                 .builder()
-                .refreshToken(refreshToken1.getToken())
+                .refreshToken(nextRefreshToken.getToken())
                 .accessToken(accessToken)
                 .build();
         return accessTokenResponseDTO;
     }
+
+    @Override
+    public void logout(String accessToken, RefreshToken refreshToken) {
+        VerifiedToken verified = accessToken != null ? jwtTokenProvider.verifyToken(accessToken) : null;
+        if (verified != null && verified.id() != null) {
+            accessTokenRevocationList.revoke(verified.id(), verified.expiration());
+        }
+        if (refreshToken != null) {
+            refreshTokenProvider.revokeRefreshToken(refreshToken.getToken());
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @Override
+    public void revokeSessions(@NonNull Long userId) {
+        refreshTokenProvider.revokeAllRefreshTokens(userId);
+    }
 }
@@ -0,0 +1,150 @@
+package com.example.taskmanagementapp.service.impl;
+
+import com.example.taskmanagementapp.exception.OrganizationNotFoundException;
+import com.example.taskmanagementapp.exception.WorkspaceNotFoundException;
+import com.example.taskmanagementapp.model.Organization;
+import com.example.taskmanagementapp.model.User;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.repository.OrganizationRepository;
+import com.example.taskmanagementapp.repository.WorkspaceRepository;
+import com.example.taskmanagementapp.security.acl.AclPermissions;
+import com.example.taskmanagementapp.service.OrganizationService;
+import com.example.taskmanagementapp.service.UserService;
+import com.example.taskmanagementapp.service.WorkspaceService;
+import com.example.taskmanagementapp.util.RequestEntityCache;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.NonNull;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.jdbc.JdbcMutableAclService;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class OrganizationServiceImpl implements OrganizationService {
+
+    private OrganizationRepository organizationRepository;
+
+    private WorkspaceRepository workspaceRepository;
+
+    private WorkspaceService workspaceService;
+
+    private UserService userService;
+
+    private JdbcMutableAclService jdbcMutableAclService;
+
+    @Autowired
+    public OrganizationServiceImpl(OrganizationRepository organizationRepository,
+                                   WorkspaceRepository workspaceRepository, WorkspaceService workspaceService,
+                                   UserService userService, JdbcMutableAclService jdbcMutableAclService) {
+        this.organizationRepository = organizationRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.workspaceService = workspaceService;
+        this.userService = userService;
+        this.jdbcMutableAclService = jdbcMutableAclService;
+    }
+
+    @Transactional
+    @Override
+    public Organization save(@NonNull Organization entity) {
+        Organization savedOrganization = organizationRepository.save(entity);
+        MutableAcl acl = jdbcMutableAclService.createAcl(new ObjectIdentityImpl(savedOrganization));
+        PrincipalSid sid = new PrincipalSid(SecurityContextHolder.getContext().getAuthentication());
+        for (Permission permission : AclPermissions.OWNER) {
+            acl.insertAce(acl.getEntries().size(), permission, sid, true);
+        }
+        jdbcMutableAclService.updateAcl(acl);
+        return savedOrganization;
+    }
+
+    @Override
+    public Organization findById(@NonNull Long id) {
+        return RequestEntityCache.get(Organization.class, id, () -> organizationRepository.findById(id)
+                .orElseThrow(() -> new OrganizationNotFoundException(
+                        String.format("Organization with %d ID was not found!", id))));
+    }
+
+    @Transactional
+    @Override
+    public Workspace addWorkspace(@NonNull Long organizationId, @NonNull Long workspaceId) {
+        Organization organization = findById(organizationId);
+        Workspace workspace = workspaceService.findById(workspaceId);
+        workspace.setOrganization(organization);
+
+        MutableAcl acl = (MutableAcl) jdbcMutableAclService.readAclById(new ObjectIdentityImpl(workspace));
+        acl.setParent(jdbcMutableAclService.readAclById(new ObjectIdentityImpl(organization)));
+        acl.setEntriesInheriting(true);
+        jdbcMutableAclService.updateAcl(acl);
+        return workspaceRepository.save(workspace);
+    }
+
+    @Transactional
+    @Override
+    public Workspace removeWorkspace(@NonNull Long organizationId, @NonNull Long workspaceId) {
+        findById(organizationId);
+        Workspace workspace = workspaceService.findById(workspaceId);
+        if (workspace.getOrganization() == null || !organizationId.equals(workspace.getOrganization().getId())) {
+            throw new WorkspaceNotFoundException(
+                    String.format("Workspace %d is not in the organization %d", workspaceId, organizationId));
+        }
+        workspace.setOrganization(null);
+
+        MutableAcl acl = (MutableAcl) jdbcMutableAclService.readAclById(new ObjectIdentityImpl(workspace));
+        acl.setParent(null);
+        jdbcMutableAclService.updateAcl(acl);
+        return workspaceRepository.save(workspace);
+    }
+
+    @Transactional
+    @Override
+    public void addPermissionsForUserInOrganization(@NonNull Long organizationId, @NonNull Long userId,
+                                                    @NonNull List<String> permissions) {
+        Organization organization = findById(organizationId);
+        User user = userService.findById(userId);
+        PrincipalSid sid = new PrincipalSid(user.getEmail());
+        MutableAcl acl = (MutableAcl) jdbcMutableAclService.readAclById(new ObjectIdentityImpl(organization));
+
+        List<Permission> userPermissions = acl
+                .getEntries()
+                .stream()
+                .filter(entry -> entry.getSid().equals(sid))
+                .map(AccessControlEntry::getPermission).toList();
+
+        permissions.stream()
+                .map(AclPermissions::fromName)
+                .distinct()
+                .filter(permission -> !userPermissions.contains(permission))
+                .forEach(permission -> acl.insertAce(acl.getEntries().size(), permission, sid, true));
+
+        jdbcMutableAclService.updateAcl(acl);
+    }
+
+    @Transactional
+    @Override
+    public void removePermissionsForUserInOrganization(@NonNull Long organizationId, @NonNull Long userId,
+                                                       @NonNull List<String> permissions) {
+        Organization organization = findById(organizationId);
+        User user = userService.findById(userId);
+        PrincipalSid sid = new PrincipalSid(user.getEmail());
+        MutableAcl acl = (MutableAcl) jdbcMutableAclService.readAclById(new ObjectIdentityImpl(organization));
+
+        List<Permission> permissionsToDelete = permissions
+                .stream()
+                .map(AclPermissions::fromName).toList();
+
+        List<AccessControlEntry> entries = acl.getEntries();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            AccessControlEntry accessControlEntry = entries.get(i);
+            if (accessControlEntry.getSid().equals(sid) && permissionsToDelete.contains(accessControlEntry.getPermission())) {
+                acl.deleteAce(i);
+            }
+        }
+        jdbcMutableAclService.updateAcl(acl);
+    }
+}
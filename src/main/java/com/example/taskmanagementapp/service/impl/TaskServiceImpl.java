@@ -1,21 +1,32 @@
 package com.example.taskmanagementapp.service.impl;
 
 import com.example.taskmanagementapp.dto.mappers.TaskMapper;
+import com.example.taskmanagementapp.exception.InvalidCursorException;
 import com.example.taskmanagementapp.exception.TaskNotFoundException;
 import com.example.taskmanagementapp.exception.UserNotInWorkspaceException;
 import com.example.taskmanagementapp.model.Task;
 import com.example.taskmanagementapp.model.User;
-import com.example.taskmanagementapp.model.Workspace;
 import com.example.taskmanagementapp.repository.TaskRepository;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipIndex;
+import com.example.taskmanagementapp.security.UserPrincipal;
 import com.example.taskmanagementapp.service.TaskService;
 import com.example.taskmanagementapp.service.UserService;
 import com.example.taskmanagementapp.service.WorkspaceService;
+import com.example.taskmanagementapp.util.RequestEntityCache;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
-import org.springframework.security.access.prepost.PostFilter;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class TaskServiceImpl implements TaskService {
@@ -26,12 +37,19 @@ public class TaskServiceImpl implements TaskService {
 
     private WorkspaceService workspaceService;
 
+    private WorkspaceMembershipIndex membershipIndex;
+
+    private EntityManager entityManager;
+
     @Autowired
     public TaskServiceImpl(TaskRepository taskRepository, UserService userService,
-                           WorkspaceService workspaceService) {
+                           WorkspaceService workspaceService, WorkspaceMembershipIndex membershipIndex,
+                           EntityManager entityManager) {
         this.taskRepository = taskRepository;
         this.userService = userService;
         this.workspaceService = workspaceService;
+        this.membershipIndex = membershipIndex;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -39,22 +57,48 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.save(entity);
     }
 
-    @PostFilter("filterObject.creator.id==authentication.principal.id")
     @Override
     public List<Task> findAll() {
-        return taskRepository.findAll();
+        return findCreatedTasks(null, null, null, null, Pageable.unpaged());
+    }
+
+    @Override
+    public List<Task> findCreatedTasks(String status, Date deadlineFrom, Date deadlineTo, Long afterId,
+                                       @NonNull Pageable pageable) {
+        UserPrincipal principal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (afterId != null) {
+            // the cursor is the last id read, it only pages through results ordered by ascending id
+            Sort.Order order = pageable.getSort().stream().findFirst().orElse(null);
+            if (order != null && !("id".equals(order.getProperty()) && order.isAscending())) {
+                throw new InvalidCursorException("A cursor can only be used with tasks sorted by ascending id");
+            }
+            pageable = PageRequest.of(0, pageable.getPageSize(), Sort.by("id"));
+        }
+        return taskRepository.findByCreator(principal.getId(), afterId != null ? afterId : 0L,
+                status, deadlineFrom, deadlineTo, pageable);
     }
 
     @Override
     public Task findById(@NonNull Long aLong) {
-        return taskRepository.findById(aLong).orElseThrow(
-                () -> new TaskNotFoundException(String.format("Task with %d ID was not found!", aLong)));
+        return RequestEntityCache.get(Task.class, aLong, () -> taskRepository.findById(aLong).orElseThrow(
+                () -> new TaskNotFoundException(String.format("Task with %d ID was not found!", aLong))));
+    }
+
+    @Override
+    public Long findWorkspaceIdByTaskId(@NonNull Long taskId) {
+        Task task = RequestEntityCache.peek(Task.class, taskId);
+        if (task != null && task.getWorkspace() != null) {
+            return task.getWorkspace().getId();
+        }
+        return RequestEntityCache.get(Task.class, taskId, "workspaceId", () -> taskRepository.findWorkspaceIdById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException(String.format("Task with %d ID was not found!", taskId))));
     }
 
     @Override
     public Task update(@NonNull Task entity, @NonNull Long aLong) {
         Task task = findById(aLong);
         TaskMapper.TASK_MAPPER.updateTask(entity, task);
+        RequestEntityCache.evict(Task.class, aLong);
         return taskRepository.save(task);
     }
 
@@ -62,6 +106,7 @@ public class TaskServiceImpl implements TaskService {
     public Task deleteById(@NonNull Long aLong) {
         Task task = findById(aLong);
         taskRepository.deleteById(aLong);
+        RequestEntityCache.evict(Task.class, aLong);
         return task;
     }
 
@@ -70,31 +115,48 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findByWorkspaceId(id);
     }
 
+    /**
+     * Validates all users against the workspace membership at once and adds them with a single insert, so the
+     * number of statements does not grow with the number of users. Users are only loaded to report a failure.
+     */
+    @Transactional
     @Override
     public Task addPerformersToTask(@NonNull Long taskId, @NonNull List<Long> userIds) {
         Task task = findById(taskId);
-
-        List<User> performersToAdd = userIds.stream().map(userId -> userService.findById(userId)).toList();
-
-        for (User performer : performersToAdd) {
-            List<Workspace> performerWorkspaces = performer.getWorkspaces();
-                if (!performerWorkspaces.contains(task.getWorkspace())) {
-                    throw new UserNotInWorkspaceException(String.format("User[%s] not in workspace!", performer.getEmail()));
-                }
+        Set<Long> memberIds = task.getWorkspace() != null
+                ? membershipIndex.findMemberIds(task.getWorkspace().getId(), userIds) : Set.of();
+        userIds.stream().filter(userId -> !memberIds.contains(userId)).findFirst().ifPresent(userId -> {
+            User user = userService.findById(userId);
+            throw new UserNotInWorkspaceException(String.format("User[%s] not in workspace!", user.getEmail()));
+        });
+
+        if (memberIds.isEmpty()) {
+            return task;
         }
-
-        task.getPerformers().addAll(performersToAdd);
-        return taskRepository.save(task);
+        taskRepository.addPerformers(taskId, memberIds);
+        return refreshPerformers(task);
     }
 
+    @Transactional
     @Override
     public Task removePerformerFromTask(@NonNull Long taskId, @NonNull Long performerId) {
-        Task task = findById(taskId);
-        User performer = userService.findById(performerId);
-        if(!task.getPerformers().removeIf(p -> p.getId().equals(performer.getId()))){
+        if (taskRepository.removePerformer(taskId, performerId) == 0) {
+            findById(taskId);
+            User performer = userService.findById(performerId);
             throw new UserNotInWorkspaceException(String.format("User[%s] is not in workspace!",
                     performer.getEmail()));
-        };
-        return taskRepository.save(task);
+        }
+        return refreshPerformers(findById(taskId));
+    }
+
+    /**
+     * Re-reads the task after its performers were written with a plain statement. Only this task is refreshed,
+     * the rest of the persistence context stays as it is.
+     */
+    private Task refreshPerformers(Task task) {
+        if (Hibernate.isInitialized(task.getPerformers())) {
+            entityManager.refresh(task);
+        }
+        return task;
     }
 }
@@ -1,21 +1,36 @@
 package com.example.taskmanagementapp.service.impl;
 
 import com.example.taskmanagementapp.dto.mappers.UserMapper;
+import com.example.taskmanagementapp.event.UserChangedEvent;
 import com.example.taskmanagementapp.exception.TaskNotFoundException;
 import com.example.taskmanagementapp.exception.UserNotFoundException;
 import com.example.taskmanagementapp.exception.WorkspaceNotFoundException;
+import com.example.taskmanagementapp.model.Role;
 import com.example.taskmanagementapp.model.User;
 import com.example.taskmanagementapp.repository.TaskRepository;
 import com.example.taskmanagementapp.repository.UserRepository;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipIndex;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipRepository;
 import com.example.taskmanagementapp.repository.WorkspaceRepository;
+import com.example.taskmanagementapp.security.RefreshTokenProvider;
+import com.example.taskmanagementapp.security.acl.WorkspacePermissionIndex;
+import com.example.taskmanagementapp.security.acl.WorkspaceRoleGrantingStrategy;
 import com.example.taskmanagementapp.service.UserService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -26,19 +41,40 @@ public class UserServiceImpl implements UserService {
 
     private TaskRepository taskRepository;
 
+    private ApplicationEventPublisher eventPublisher;
+
+    private WorkspaceMembershipIndex membershipIndex;
+
+    private RefreshTokenProvider refreshTokenProvider;
+
+    private WorkspaceMembershipRepository membershipRepository;
+
+    private WorkspacePermissionIndex workspacePermissionIndex;
 
     @Autowired
     public UserServiceImpl(UserRepository userRepository,
                            WorkspaceRepository workspaceRepository,
-                           TaskRepository taskRepository) {
+                           TaskRepository taskRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           WorkspaceMembershipIndex membershipIndex,
+                           RefreshTokenProvider refreshTokenProvider,
+                           WorkspaceMembershipRepository membershipRepository,
+                           WorkspacePermissionIndex workspacePermissionIndex) {
         this.userRepository = userRepository;
         this.workspaceRepository = workspaceRepository;
         this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.membershipIndex = membershipIndex;
+        this.refreshTokenProvider = refreshTokenProvider;
+        this.membershipRepository = membershipRepository;
+        this.workspacePermissionIndex = workspacePermissionIndex;
     }
 
     @Override
     public User save(@NonNull User entity) {
-        return userRepository.save(entity);
+        User savedUser = userRepository.save(entity);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), entity.getEmail()));
+        return savedUser;
     }
 
     public List<User> findAll() {
@@ -51,12 +87,29 @@ public class UserServiceImpl implements UserService {
                 () -> new UserNotFoundException(String.format("User with %d ID was not found!", aLong)));
     }
 
+    @Override
+    public User getReferenceById(@NonNull Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     @Transactional
     @Override
     public User update(@NonNull User entity, @NonNull Long aLong) {
         User user = findById(aLong);
+        String email = user.getEmail();
+        String password = user.getPassword();
+        Set<String> roleNames = roleNames(user);
         UserMapper.USER_MAPPER.updateUser(entity, user);
-        return userRepository.save(user);
+        // only a change of what the tokens were issued for ends the user's sessions, not a profile edit;
+        // the refresh tokens go with the access tokens, or a stolen one would just mint a fresh access token
+        if (!Objects.equals(email, user.getEmail()) || !Objects.equals(password, user.getPassword())
+                || !roleNames.equals(roleNames(user))) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            refreshTokenProvider.expireAllRefreshTokens(aLong);
+        }
+        User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(aLong, email));
+        return updatedUser;
     }
 
     @Transactional
@@ -64,6 +117,13 @@ public class UserServiceImpl implements UserService {
     public User deleteById(@NonNull Long aLong) {
         User user = findById(aLong);
         userRepository.deleteById(aLong);
+        membershipIndex.removeUser(aLong);
+        // workspace_member_roles has no foreign key to users, the roles would outlive the user otherwise
+        for (Long workspaceId : membershipRepository.deleteUserRoles(aLong)) {
+            workspacePermissionIndex.refresh(workspaceId);
+            WorkspaceRoleGrantingStrategy.evictRoles(workspaceId);
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(aLong, user.getEmail()));
         return user;
     }
 
@@ -83,7 +143,7 @@ public class UserServiceImpl implements UserService {
         if (!workspaceRepository.existsById(id)) {
             throw new WorkspaceNotFoundException(String.format("Workspace with ID %d was not found!", id));
         }
-        return userRepository.findUsersByWorkspacesId(id);
+        return userRepository.findAllById(membershipIndex.findMemberIds(id));
     }
 
     @Override
@@ -95,7 +155,31 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Boolean existsByEmailAndWorkspacesId(@NonNull String email, @NonNull Long workspaceId) {
-        return userRepository.existsByEmailAndWorkspacesId(email, workspaceId);
+    public List<User> findAllById(@NonNull Collection<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
+    private static Set<String> roleNames(User user) {
+        return user.getRoles() == null ? Set.of()
+                : user.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+    }
+
+    @Override
+    public Map<Long, String> findEmailsByIds(@NonNull Collection<Long> ids) {
+        Map<Long, String> emails = new HashMap<>();
+        if (!ids.isEmpty()) {
+            userRepository.findEmailsByIds(ids).forEach(row -> emails.put((Long) row[0], (String) row[1]));
+        }
+        return emails;
+    }
+
+    @Override
+    public Map<String, Long> findIdsByEmails(@NonNull Collection<String> emails) {
+        // users.email compares case-insensitively under the default MySQL collation
+        Map<String, Long> ids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (!emails.isEmpty()) {
+            userRepository.findIdsByEmails(emails).forEach(row -> ids.put((String) row[1], (Long) row[0]));
+        }
+        return ids;
     }
 }
@@ -1,29 +1,45 @@
 package com.example.taskmanagementapp.service.impl;
 
+import com.example.taskmanagementapp.dto.MembershipImportRequestDTO;
+import com.example.taskmanagementapp.dto.MembershipImportResultDTO;
 import com.example.taskmanagementapp.dto.mappers.WorkspaceMapper;
+import com.example.taskmanagementapp.exception.UserNotFoundException;
 import com.example.taskmanagementapp.exception.UserNotInWorkspaceException;
 import com.example.taskmanagementapp.exception.WorkspaceNotFoundException;
+import com.example.taskmanagementapp.model.Organization;
 import com.example.taskmanagementapp.model.User;
 import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.model.WorkspaceRole;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipIndex;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipRepository;
 import com.example.taskmanagementapp.repository.WorkspaceRepository;
+import com.example.taskmanagementapp.security.UserPrincipal;
+import com.example.taskmanagementapp.security.acl.AclPermissions;
+import com.example.taskmanagementapp.security.acl.WorkspacePermissionIndex;
+import com.example.taskmanagementapp.security.acl.WorkspaceRoleGrantingStrategy;
 import com.example.taskmanagementapp.service.UserService;
 import com.example.taskmanagementapp.service.WorkspaceService;
+import com.example.taskmanagementapp.util.RequestEntityCache;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
-import org.springframework.security.access.prepost.PostFilter;
-import org.springframework.security.acls.domain.BasePermission;
 import org.springframework.security.acls.domain.ObjectIdentityImpl;
 import org.springframework.security.acls.domain.PrincipalSid;
 import org.springframework.security.acls.jdbc.JdbcMutableAclService;
 import org.springframework.security.acls.model.AccessControlEntry;
 import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
 import org.springframework.security.acls.model.Permission;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -36,41 +52,60 @@ public class WorkspaceServiceImpl implements WorkspaceService {
 
     private UserService userService;
 
+    private WorkspaceMembershipRepository membershipRepository;
+
+    private WorkspacePermissionIndex workspacePermissionIndex;
+
+    private WorkspaceMembershipIndex membershipIndex;
 
     @Autowired
-    public WorkspaceServiceImpl(WorkspaceRepository workspaceRepository, JdbcMutableAclService jdbcMutableAclService, UserService userService) {
+    public WorkspaceServiceImpl(WorkspaceRepository workspaceRepository, JdbcMutableAclService jdbcMutableAclService,
+                                UserService userService, WorkspaceMembershipRepository membershipRepository,
+                                WorkspacePermissionIndex workspacePermissionIndex,
+                                WorkspaceMembershipIndex membershipIndex) {
         this.workspaceRepository = workspaceRepository;
         this.jdbcMutableAclService = jdbcMutableAclService;
         this.userService = userService;
+        this.membershipRepository = membershipRepository;
+        this.workspacePermissionIndex = workspacePermissionIndex;
+        this.membershipIndex = membershipIndex;
     }
 
     @Transactional
     @Override
     public Workspace save(@NonNull Workspace entity) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        User user = (User)authentication.getPrincipal();
-        entity.setMembers(List.of(user));
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        entity.setMembers(List.of(userService.getReferenceById(principal.getId())));
         Workspace savedWorkspace = workspaceRepository.save(entity);
+        membershipRepository.saveRoles(savedWorkspace.getId(), List.of(principal.getId()), WorkspaceRole.ADMIN);
+        membershipIndex.addMembers(savedWorkspace.getId(), List.of(principal.getId()));
         MutableAcl acl = jdbcMutableAclService.createAcl(new ObjectIdentityImpl(savedWorkspace));
 
-        PrincipalSid sid = new PrincipalSid(authentication);
-        acl.insertAce(acl.getEntries().size(), BasePermission.READ, sid, true);
-        acl.insertAce(acl.getEntries().size(), BasePermission.CREATE, sid, true);
-        acl.insertAce(acl.getEntries().size(), BasePermission.WRITE, sid, true);
-        acl.insertAce(acl.getEntries().size(), BasePermission.DELETE, sid, true);
-        acl.insertAce(acl.getEntries().size(), BasePermission.ADMINISTRATION, new PrincipalSid(authentication), true);
+        for (WorkspaceRole role : WorkspaceRole.values()) {
+            acl.insertAce(acl.getEntries().size(), role.getPermission(), role.sid(savedWorkspace.getId()), true);
+        }
         jdbcMutableAclService.updateAcl(acl);
         return savedWorkspace;
     }
 
-    @PostFilter("hasPermission(filterObject, 'READ')")
     public List<Workspace> findAll() {
-        return workspaceRepository.findAll();
+        return workspaceRepository.findReadableBySid(currentSid(), Workspace.class.getName(), Organization.class.getName(),
+                0L, Pageable.unpaged());
+    }
+
+    @Override
+    public List<Workspace> findReadable(Long afterId, int page, int size) {
+        Pageable pageable = afterId != null ? PageRequest.of(0, size) : PageRequest.of(page, size);
+        long after = afterId != null ? afterId : 0L;
+        return workspaceRepository.findReadableBySid(currentSid(), Workspace.class.getName(), Organization.class.getName(),
+                after, pageable);
     }
 
     @Override
     public Workspace findById(@NonNull Long aLong) {
-        return workspaceRepository.findById(aLong).orElseThrow(() -> new WorkspaceNotFoundException(String.format("Workspace with %d ID was not found!", aLong)));
+        return RequestEntityCache.get(Workspace.class, aLong, () -> workspaceRepository.findById(aLong)
+                .orElseThrow(() -> new WorkspaceNotFoundException(String.format("Workspace with %d ID was not found!", aLong))));
     }
 
     @Transactional
@@ -78,13 +113,23 @@ public class WorkspaceServiceImpl implements WorkspaceService {
     public Workspace update(@NonNull Workspace entity, @NonNull Long aLong) {
         Workspace workspace = findById(aLong);
         WorkspaceMapper.WORKSPACE_MAPPER.updateWorkspace(entity, workspace);
-        return workspaceRepository.save(workspace);
+        Workspace updatedWorkspace = workspaceRepository.save(workspace);
+        RequestEntityCache.evict(Workspace.class, aLong);
+        return updatedWorkspace;
     }
 
+    @Transactional
     @Override
     public Workspace deleteById(@NonNull Long aLong) {
         Workspace workspace = findById(aLong);
+        ObjectIdentity objectIdentity = new ObjectIdentityImpl(Workspace.class, aLong);
         workspaceRepository.deleteById(aLong);
+        membershipRepository.deleteRoles(aLong);
+        jdbcMutableAclService.deleteAcl(objectIdentity, true);
+        membershipIndex.removeWorkspace(aLong);
+        workspacePermissionIndex.remove(objectIdentity);
+        WorkspaceRoleGrantingStrategy.evictRoles(aLong);
+        RequestEntityCache.evict(Workspace.class, aLong);
         return workspace;
     }
 
@@ -92,34 +137,101 @@ public class WorkspaceServiceImpl implements WorkspaceService {
     @Override
     public Workspace addUsersToWorkspace(@NonNull Long workspaceId, @NonNull List<Long> userIds) {
         Workspace workspace = findById(workspaceId);
-        Set<User> users = userIds.stream().map(id -> userService.findById(id)).collect(Collectors.toSet());
-        workspace.getMembers().addAll(users);
-        MutableAcl acl = (MutableAcl) jdbcMutableAclService.readAclById(new ObjectIdentityImpl(workspace));
-        users.forEach(user -> {
-            acl.insertAce(0, BasePermission.READ, new PrincipalSid(user.getEmail()), true);
-            user.getWorkspaces().add(workspace);
-            userService.save(user);
+        List<User> users = userService.findAllById(userIds);
+        Set<Long> foundIds = users.stream().map(User::getId).collect(Collectors.toSet());
+        userIds.stream().filter(id -> !foundIds.contains(id)).findFirst().ifPresent(id -> {
+            throw new UserNotFoundException(String.format("User with %d ID was not found!", id));
+        });
+        Set<Long> memberIds = workspace.getMembers().stream().map(User::getId).collect(Collectors.toSet());
+        List<Long> addedIds = new ArrayList<>();
+        users.stream().filter(user -> memberIds.add(user.getId())).forEach(user -> {
+            workspace.getMembers().add(user);
+            addedIds.add(user.getId());
         });
 
-        jdbcMutableAclService.updateAcl(acl);
+        membershipRepository.saveRoles(workspaceId, addedIds, WorkspaceRole.VIEWER);
+        membershipIndex.addMembers(workspaceId, addedIds);
+        workspacePermissionIndex.refresh(workspaceId);
+        WorkspaceRoleGrantingStrategy.evictRoles(workspaceId);
         return workspaceRepository.save(workspace);
     }
 
+    @Transactional
+    @Override
+    public List<MembershipImportResultDTO> importMembers(@NonNull Long workspaceId,
+                                                         @NonNull MembershipImportRequestDTO request) {
+        findById(workspaceId);
+        // memberships are read and written with plain JDBC below, pending entity changes have to be visible to it
+        workspaceRepository.flush();
+        Map<Long, String> emailsById = userService.findEmailsByIds(request.getUserIds());
+        Map<String, Long> idsByEmail = userService.findIdsByEmails(request.getEmails());
+
+        List<MembershipImportResultDTO> results = new ArrayList<>();
+        request.getUserIds().forEach(id -> results.add(MembershipImportResultDTO.builder()
+                .item(String.valueOf(id)).userId(emailsById.containsKey(id) ? id : null).build()));
+        request.getEmails().forEach(email -> results.add(MembershipImportResultDTO.builder()
+                .item(email).userId(idsByEmail.get(email)).build()));
+        idsByEmail.forEach((email, id) -> emailsById.put(id, email));
+
+        Set<Long> memberIds = membershipIndex.findMemberIds(workspaceId, emailsById.keySet());
+        Set<Long> addedIds = new LinkedHashSet<>();
+        for (MembershipImportResultDTO result : results) {
+            if (result.getUserId() == null) {
+                result.setStatus(MembershipImportResultDTO.Status.NOT_FOUND);
+            } else if (memberIds.contains(result.getUserId()) || !addedIds.add(result.getUserId())) {
+                result.setStatus(MembershipImportResultDTO.Status.ALREADY_MEMBER);
+            } else {
+                result.setStatus(MembershipImportResultDTO.Status.ADDED);
+            }
+        }
+
+        if (!addedIds.isEmpty()) {
+            membershipRepository.insertMembers(workspaceId, addedIds, WorkspaceRole.VIEWER);
+            membershipIndex.addMembers(workspaceId, addedIds);
+            workspacePermissionIndex.refresh(workspaceId);
+            RequestEntityCache.evict(Workspace.class, workspaceId);
+            WorkspaceRoleGrantingStrategy.evictRoles(workspaceId);
+        }
+        return results;
+    }
+
     @Transactional
     @Override
     public Workspace removeUserFromWorkspace(@NonNull Long workspaceId, @NonNull Long userId) {
         Workspace workspace = findById(workspaceId);
         User user = userService.findById(userId);
-        if (!workspace.getMembers().contains(user)) {
+        if (!membershipIndex.isMember(userId, workspaceId)) {
             throw new UserNotInWorkspaceException(String.format("User %d is not in the workspace", userId));
         }
         workspace.getMembers().removeIf(user1 -> user1.getId().equals(userId));
+        membershipRepository.deleteRole(workspaceId, userId);
+        membershipIndex.removeMember(workspaceId, userId);
+        WorkspaceRoleGrantingStrategy.evictRoles(workspaceId);
         MutableAcl acl = (MutableAcl) jdbcMutableAclService.readAclById(new ObjectIdentityImpl(workspace));
-        acl.getEntries().removeIf(entry -> entry.getSid().equals(new PrincipalSid(user.getEmail())));
+        List<AccessControlEntry> entries = acl.getEntries();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (entries.get(i).getSid().equals(new PrincipalSid(user.getEmail()))) {
+                acl.deleteAce(i);
+            }
+        }
         jdbcMutableAclService.updateAcl(acl);
         return workspaceRepository.save(workspace);
     }
 
+    @Transactional
+    @Override
+    public void changeMemberRole(@NonNull Long workspaceId, @NonNull Long userId, @NonNull WorkspaceRole role) {
+        findById(workspaceId);
+        // before the membership index is loaded the check reads the join table, which must see pending entity changes
+        workspaceRepository.flush();
+        if (!membershipIndex.isMember(userId, workspaceId)) {
+            throw new UserNotInWorkspaceException(String.format("User %d is not in the workspace", userId));
+        }
+        membershipRepository.saveRoles(workspaceId, List.of(userId), role);
+        workspacePermissionIndex.refresh(workspaceId);
+        WorkspaceRoleGrantingStrategy.evictRoles(workspaceId);
+    }
+
     @Override
     public Workspace findByTasksId(@NonNull Long id) {
         return workspaceRepository.findByTasksId(id).orElseThrow(
@@ -142,7 +254,7 @@ public class WorkspaceServiceImpl implements WorkspaceService {
 
         List<Permission> permissionsToBeInserted = permissions
                 .stream()
-                .map(this::convertStringToPermission)
+                .map(AclPermissions::fromName)
                 .filter(permission -> !userPermissions.contains(permission))
                 .toList();
 
@@ -165,10 +277,11 @@ public class WorkspaceServiceImpl implements WorkspaceService {
 
         List<Permission> permissionToDelete = permissions
                 .stream()
-                .map(this::convertStringToPermission).toList();
+                .map(AclPermissions::fromName).toList();
 
-        for (int i = 0; i < acl.getEntries().size(); i++) {
-            AccessControlEntry accessControlEntry = acl.getEntries().get(i);
+        List<AccessControlEntry> entries = acl.getEntries();
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            AccessControlEntry accessControlEntry = entries.get(i);
             if (accessControlEntry.getSid().equals(new PrincipalSid(user.getEmail())) &&
                     permissionToDelete.contains(accessControlEntry.getPermission())) {
                 acl.deleteAce(i);
@@ -177,14 +290,7 @@ public class WorkspaceServiceImpl implements WorkspaceService {
         jdbcMutableAclService.updateAcl(acl);
     }
 
-    private Permission convertStringToPermission(String permission) {
-        return switch (permission.toUpperCase()) {
-            case "READ" -> BasePermission.READ;
-            case "CREATE" -> BasePermission.CREATE;
-            case "WRITE" -> BasePermission.WRITE;
-            case "DELETE" -> BasePermission.DELETE;
-            case "ADMIN" -> BasePermission.ADMINISTRATION;
-            default -> throw new IllegalArgumentException("Invalid Permission");
-        };
+    private String currentSid() {
+        return new PrincipalSid(SecurityContextHolder.getContext().getAuthentication()).getPrincipal();
     }
 }
@@ -0,0 +1,388 @@
+package com.example.taskmanagementapp.util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of unsigned 32-bit ints, compressed the way Roaring bitmaps are: values are split by their
+ * high 16 bits into chunks, and each chunk keeps its low 16 bits either as a sorted {@code char[]} (up to
+ * {@value #ARRAY_MAX} values) or as a 65536-bit bitmap, whichever is smaller. Membership costs a binary search
+ * over the chunk keys plus one probe in the chunk; intersections go chunk by chunk and never expand the values.
+ * <p>
+ * Changes return a new bitmap that shares every chunk except the changed one with the original, so a bitmap can
+ * be published to concurrent readers without locking.
+ */
+public final class CompressedBitmap {
+
+    public static final CompressedBitmap EMPTY = new CompressedBitmap(new char[0], new Container[0]);
+
+    private static final int ARRAY_MAX = 4096;
+
+    private static final int WORDS = 1024;
+
+    private final char[] keys;
+
+    private final Container[] containers;
+
+    private final int cardinality;
+
+    private CompressedBitmap(char[] keys, Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+        int count = 0;
+        for (Container container : containers) {
+            count += container.cardinality();
+        }
+        this.cardinality = count;
+    }
+
+    public static CompressedBitmap of(int... values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        // flipping the sign bit makes the signed sort order the unsigned one
+        int[] sorted = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            sorted[i] = values[i] ^ Integer.MIN_VALUE;
+        }
+        Arrays.sort(sorted);
+
+        char[] keys = new char[sorted.length];
+        Container[] containers = new Container[sorted.length];
+        int chunks = 0;
+        char[] lows = new char[Math.min(sorted.length, 1 << 16)];
+        int from = 0;
+        while (from < sorted.length) {
+            char key = high(sorted[from] ^ Integer.MIN_VALUE);
+            int count = 0;
+            int to = from;
+            while (to < sorted.length && high(sorted[to] ^ Integer.MIN_VALUE) == key) {
+                char low = low(sorted[to] ^ Integer.MIN_VALUE);
+                if (count == 0 || lows[count - 1] != low) {
+                    lows[count++] = low;
+                }
+                to++;
+            }
+            keys[chunks] = key;
+            containers[chunks++] = count <= ARRAY_MAX
+                    ? new ArrayContainer(Arrays.copyOf(lows, count))
+                    : BitmapContainer.of(lows, count);
+            from = to;
+        }
+        return new CompressedBitmap(Arrays.copyOf(keys, chunks), Arrays.copyOf(containers, chunks));
+    }
+
+    public boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, high(value));
+        return index >= 0 && containers[index].contains(low(value));
+    }
+
+    public CompressedBitmap with(int value) {
+        char key = high(value);
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            Container container = containers[index].add(low(value));
+            if (container == containers[index]) {
+                return this;
+            }
+            Container[] newContainers = containers.clone();
+            newContainers[index] = container;
+            return new CompressedBitmap(keys, newContainers);
+        }
+        int insertAt = -index - 1;
+        char[] newKeys = new char[keys.length + 1];
+        Container[] newContainers = new Container[containers.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertAt);
+        System.arraycopy(containers, 0, newContainers, 0, insertAt);
+        newKeys[insertAt] = key;
+        newContainers[insertAt] = new ArrayContainer(new char[]{low(value)});
+        System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+        System.arraycopy(containers, insertAt, newContainers, insertAt + 1, containers.length - insertAt);
+        return new CompressedBitmap(newKeys, newContainers);
+    }
+
+    public CompressedBitmap without(int value) {
+        int index = Arrays.binarySearch(keys, high(value));
+        if (index < 0) {
+            return this;
+        }
+        Container container = containers[index].remove(low(value));
+        if (container == containers[index]) {
+            return this;
+        }
+        if (container != null) {
+            Container[] newContainers = containers.clone();
+            newContainers[index] = container;
+            return new CompressedBitmap(keys, newContainers);
+        }
+        if (keys.length == 1) {
+            return EMPTY;
+        }
+        char[] newKeys = new char[keys.length - 1];
+        Container[] newContainers = new Container[containers.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(containers, 0, newContainers, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(containers, index + 1, newContainers, index, containers.length - index - 1);
+        return new CompressedBitmap(newKeys, newContainers);
+    }
+
+    public CompressedBitmap and(CompressedBitmap other) {
+        int size = Math.min(keys.length, other.keys.length);
+        char[] newKeys = new char[size];
+        Container[] newContainers = new Container[size];
+        int chunks = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container != null) {
+                    newKeys[chunks] = keys[i];
+                    newContainers[chunks++] = container;
+                }
+                i++;
+                j++;
+            }
+        }
+        return chunks == 0 ? EMPTY
+                : new CompressedBitmap(Arrays.copyOf(newKeys, chunks), Arrays.copyOf(newContainers, chunks));
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Visits the values in unsigned ascending order.
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int[] count = new int[1];
+        forEach(value -> values[count[0]++] = value);
+        return values;
+    }
+
+    private static char high(int value) {
+        return (char) (value >>> 16);
+    }
+
+    private static char low(int value) {
+        return (char) value;
+    }
+
+    /**
+     * The low 16 bits of one chunk. Implementations are immutable, changes return a new container,
+     * the same one if nothing changed, or {@code null} once the chunk is empty.
+     */
+    private interface Container {
+
+        boolean contains(char value);
+
+        Container add(char value);
+
+        Container remove(char value);
+
+        Container and(Container other);
+
+        int cardinality();
+
+        void forEach(int high, IntConsumer action);
+    }
+
+    private static final class ArrayContainer implements Container {
+
+        private final char[] values;
+
+        private ArrayContainer(char[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return Arrays.binarySearch(values, value) >= 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            int index = Arrays.binarySearch(values, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (values.length == ARRAY_MAX) {
+                return BitmapContainer.of(values, values.length).add(value);
+            }
+            int insertAt = -index - 1;
+            char[] newValues = new char[values.length + 1];
+            System.arraycopy(values, 0, newValues, 0, insertAt);
+            newValues[insertAt] = value;
+            System.arraycopy(values, insertAt, newValues, insertAt + 1, values.length - insertAt);
+            return new ArrayContainer(newValues);
+        }
+
+        @Override
+        public Container remove(char value) {
+            int index = Arrays.binarySearch(values, value);
+            if (index < 0) {
+                return this;
+            }
+            if (values.length == 1) {
+                return null;
+            }
+            char[] newValues = new char[values.length - 1];
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+            return new ArrayContainer(newValues);
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] common = new char[values.length];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int i = 0;
+                int j = 0;
+                while (i < values.length && j < array.values.length) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        common[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (char value : values) {
+                    if (other.contains(value)) {
+                        common[count++] = value;
+                    }
+                }
+            }
+            return count == 0 ? null : new ArrayContainer(Arrays.copyOf(common, count));
+        }
+
+        @Override
+        public int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        public void forEach(int high, IntConsumer action) {
+            for (char value : values) {
+                action.accept(high | value);
+            }
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+
+        private final long[] words;
+
+        private final int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        private static BitmapContainer of(char[] values, int count) {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < count; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new BitmapContainer(words, count);
+        }
+
+        @Override
+        public boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        public Container add(char value) {
+            if (contains(value)) {
+                return this;
+            }
+            long[] newWords = words.clone();
+            newWords[value >>> 6] |= 1L << value;
+            return new BitmapContainer(newWords, cardinality + 1);
+        }
+
+        @Override
+        public Container remove(char value) {
+            if (!contains(value)) {
+                return this;
+            }
+            if (cardinality - 1 <= ARRAY_MAX) {
+                char[] values = new char[cardinality - 1];
+                int[] count = new int[1];
+                forEach(0, other -> {
+                    if (other != value) {
+                        values[count[0]++] = (char) other;
+                    }
+                });
+                return new ArrayContainer(values);
+            }
+            long[] newWords = words.clone();
+            newWords[value >>> 6] &= ~(1L << value);
+            return new BitmapContainer(newWords, cardinality - 1);
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] newWords = new long[WORDS];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                newWords[i] = words[i] & otherWords[i];
+                count += Long.bitCount(newWords[i]);
+            }
+            if (count == 0) {
+                return null;
+            }
+            BitmapContainer bitmap = new BitmapContainer(newWords, count);
+            if (count > ARRAY_MAX) {
+                return bitmap;
+            }
+            char[] values = new char[count];
+            int[] index = new int[1];
+            bitmap.forEach(0, value -> values[index[0]++] = (char) value);
+            return new ArrayContainer(values);
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+}
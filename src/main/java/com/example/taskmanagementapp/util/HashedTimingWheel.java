@@ -0,0 +1,75 @@
+package com.example.taskmanagementapp.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A hashed timing wheel: deadlines are hashed into a fixed ring of slots by tick, so scheduling is O(1)
+ * and each advance only looks at the slots that passed since the previous one. Deadlines further away
+ * than one revolution simply stay in their slot until a later pass reaches them.
+ *
+ * @param <K> the key scheduled for expiry
+ */
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+
+    private final List<List<Timeout<K>>> slots;
+
+    private long lastTick;
+
+    private int size;
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new ArrayList<>());
+        }
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        long tick = Math.max(deadlineMillis / tickMillis, lastTick);
+        slots.get(slotOf(tick)).add(new Timeout<>(key, deadlineMillis));
+        size++;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis}.
+     *
+     * @return the keys whose deadline has passed, at most {@code limit} of them; the rest are returned by the next call
+     */
+    public synchronized List<K> advance(long nowMillis, int limit) {
+        List<K> expired = new ArrayList<>();
+        long currentTick = nowMillis / tickMillis;
+        long passes = Math.min(currentTick - lastTick + 1, slots.size());
+        for (long tick = currentTick - passes + 1; tick <= currentTick && expired.size() < limit; tick++) {
+            Iterator<Timeout<K>> timeouts = slots.get(slotOf(tick)).iterator();
+            while (timeouts.hasNext() && expired.size() < limit) {
+                Timeout<K> timeout = timeouts.next();
+                if (timeout.deadlineMillis <= nowMillis) {
+                    timeouts.remove();
+                    expired.add(timeout.key);
+                    size--;
+                }
+            }
+        }
+        if (expired.size() < limit) {
+            lastTick = currentTick;
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private int slotOf(long tick) {
+        return (int) (tick % slots.size());
+    }
+
+    private record Timeout<K>(K key, long deadlineMillis) {
+    }
+}
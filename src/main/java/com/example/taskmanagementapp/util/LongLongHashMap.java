@@ -0,0 +1,146 @@
+package com.example.taskmanagementapp.util;
+
+/**
+ * Open addressing (linear probing) map from a {@code long} to a {@code long}, without boxing.
+ * The key {@code 0} marks a free slot and cannot be used as a key.
+ * <p>
+ * Not thread-safe for writes, with the same guarantees for racing readers as {@link LongPairIntHashMap}:
+ * a consistent table, no endless probing, but possibly a stale or torn value the caller has to validate.
+ */
+public class LongLongHashMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table table;
+
+    private int size;
+
+    public LongLongHashMap(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    public long get(long key, long defaultValue) {
+        Table current = table;
+        int mask = current.mask;
+        int slot = hash(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long storedKey = current.keys[slot];
+            if (storedKey == key) {
+                return current.values[slot];
+            }
+            if (storedKey == 0) {
+                return defaultValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public void put(long key, long value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("The key 0 is reserved");
+        }
+        if ((size + 1) * 2 > table.values.length) {
+            resize(table.values.length * 2);
+        }
+        Table current = table;
+        int slot = hash(key) & current.mask;
+        while (current.keys[slot] != 0) {
+            if (current.keys[slot] == key) {
+                current.values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & current.mask;
+        }
+        current.values[slot] = value;
+        current.keys[slot] = key;
+        size++;
+    }
+
+    public void remove(long key) {
+        Table current = table;
+        int mask = current.mask;
+        int slot = hash(key) & mask;
+        while (current.keys[slot] != key) {
+            if (current.keys[slot] == 0) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // backward shift deletion, as in LongPairIntHashMap
+        int gap = slot;
+        int next = gap;
+        while (true) {
+            next = (next + 1) & mask;
+            if (current.keys[next] == 0) {
+                break;
+            }
+            int home = hash(current.keys[next]) & mask;
+            boolean reachableFromGap = gap <= next ? (home <= gap || home > next) : (home <= gap && home > next);
+            if (reachableFromGap) {
+                current.keys[gap] = current.keys[next];
+                current.values[gap] = current.values[next];
+                gap = next;
+            }
+        }
+        current.keys[gap] = 0;
+        current.values[gap] = 0;
+        size--;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        Table old = table;
+        Table resized = new Table(capacity);
+        for (int i = 0; i < old.values.length; i++) {
+            if (old.keys[i] != 0) {
+                int slot = hash(old.keys[i]) & resized.mask;
+                while (resized.keys[slot] != 0) {
+                    slot = (slot + 1) & resized.mask;
+                }
+                resized.keys[slot] = old.keys[i];
+                resized.values[slot] = old.values[i];
+            }
+        }
+        table = resized;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9e3779b97f4a7c15L;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+
+    private static final class Table {
+
+        private final long[] keys;
+
+        private final long[] values;
+
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.taskmanagementapp.util;
+
+/**
+ * Open addressing (linear probing) map from a pair of {@code long}s to an {@code int}, without boxing.
+ * The pair {@code (0, 0)} marks a free slot and cannot be used as a key.
+ * <p>
+ * Not thread-safe for writes. A reader racing a writer always sees a consistent table
+ * (resizing swaps it as a whole) and never loops forever, but may see a stale or torn value,
+ * so callers validate such reads themselves, e.g. with an optimistic lock stamp.
+ */
+public class LongPairIntHashMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table table;
+
+    private int size;
+
+    public LongPairIntHashMap(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    public int get(long first, long second, int defaultValue) {
+        Table current = table;
+        int mask = current.mask;
+        int slot = hash(first, second) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            long storedFirst = current.firstKeys[slot];
+            long storedSecond = current.secondKeys[slot];
+            if (storedFirst == first && storedSecond == second) {
+                return current.values[slot];
+            }
+            if (storedFirst == 0 && storedSecond == 0) {
+                return defaultValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public void put(long first, long second, int value) {
+        if (first == 0 && second == 0) {
+            throw new IllegalArgumentException("The key (0, 0) is reserved");
+        }
+        if ((size + 1) * 2 > table.values.length) {
+            resize(table.values.length * 2);
+        }
+        Table current = table;
+        int slot = hash(first, second) & current.mask;
+        while (!isFree(current, slot)) {
+            if (current.firstKeys[slot] == first && current.secondKeys[slot] == second) {
+                current.values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & current.mask;
+        }
+        current.values[slot] = value;
+        current.secondKeys[slot] = second;
+        current.firstKeys[slot] = first;
+        size++;
+    }
+
+    public void remove(long first, long second) {
+        Table current = table;
+        int mask = current.mask;
+        int slot = hash(first, second) & mask;
+        while (!(current.firstKeys[slot] == first && current.secondKeys[slot] == second)) {
+            if (isFree(current, slot)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // backward shift deletion: pull later entries of the probe run into the gap so no tombstones are needed
+        int gap = slot;
+        int next = gap;
+        while (true) {
+            next = (next + 1) & mask;
+            if (isFree(current, next)) {
+                break;
+            }
+            int home = hash(current.firstKeys[next], current.secondKeys[next]) & mask;
+            boolean reachableFromGap = gap <= next ? (home <= gap || home > next) : (home <= gap && home > next);
+            if (reachableFromGap) {
+                current.firstKeys[gap] = current.firstKeys[next];
+                current.secondKeys[gap] = current.secondKeys[next];
+                current.values[gap] = current.values[next];
+                gap = next;
+            }
+        }
+        current.firstKeys[gap] = 0;
+        current.secondKeys[gap] = 0;
+        current.values[gap] = 0;
+        size--;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        Table old = table;
+        Table resized = new Table(capacity);
+        for (int i = 0; i < old.values.length; i++) {
+            if (!isFree(old, i)) {
+                int slot = hash(old.firstKeys[i], old.secondKeys[i]) & resized.mask;
+                while (!isFree(resized, slot)) {
+                    slot = (slot + 1) & resized.mask;
+                }
+                resized.firstKeys[slot] = old.firstKeys[i];
+                resized.secondKeys[slot] = old.secondKeys[i];
+                resized.values[slot] = old.values[i];
+            }
+        }
+        table = resized;
+    }
+
+    private static boolean isFree(Table table, int slot) {
+        return table.firstKeys[slot] == 0 && table.secondKeys[slot] == 0;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long first, long second) {
+        long hash = first * 0x9e3779b97f4a7c15L + second;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+
+    private static final class Table {
+
+        private final long[] firstKeys;
+
+        private final long[] secondKeys;
+
+        private final int[] values;
+
+        private final int mask;
+
+        private Table(int capacity) {
+            this.firstKeys = new long[capacity];
+            this.secondKeys = new long[capacity];
+            this.values = new int[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+}
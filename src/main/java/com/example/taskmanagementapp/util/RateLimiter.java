@@ -0,0 +1,61 @@
+package com.example.taskmanagementapp.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keyed token buckets implemented with the generic cell rate algorithm: each bucket is a single
+ * {@link AtomicLong} holding the theoretical arrival time of the next request, updated with one CAS
+ * per request. A bucket whose arrival time has passed is full again and can be evicted without changing behaviour.
+ */
+public class RateLimiter {
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param requests how many requests are replenished per period
+     * @param burst    how many requests may be made back to back from a full bucket
+     */
+    public RateLimiter(long requests, Duration period, long burst) {
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / requests);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+    }
+
+    /**
+     * @return {@code 0} if the request may proceed, otherwise how many nanoseconds until it would
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong theoreticalArrival = buckets.get(key);
+        if (theoreticalArrival == null) {
+            theoreticalArrival = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long wait = next - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that have refilled completely.
+     */
+    public void evictIdle(long nowNanos) {
+        buckets.values().removeIf(theoreticalArrival -> theoreticalArrival.get() - nowNanos <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
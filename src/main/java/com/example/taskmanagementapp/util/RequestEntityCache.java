@@ -0,0 +1,79 @@
+package com.example.taskmanagementapp.util;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Identity map that lives for one web request, keyed by entity type and id, so that an entity loaded by a
+ * security expression is not loaded again by the handler. Outside a request every call goes to the loader.
+ * Loaders that throw leave nothing behind.
+ */
+public final class RequestEntityCache {
+
+    private static final String ATTRIBUTE = RequestEntityCache.class.getName();
+
+    private RequestEntityCache() {
+    }
+
+    public static <T> T get(Class<?> type, Object id, Supplier<T> loader) {
+        return get(type, id, null, loader);
+    }
+
+    /**
+     * Memoizes a single attribute of an entity, such as a projected foreign key, next to the entity itself.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Class<?> type, Object id, String attribute, Supplier<T> loader) {
+        Map<Key, Object> entries = entries(true);
+        if (entries == null) {
+            return loader.get();
+        }
+        Key key = new Key(type, id, attribute);
+        Object value = entries.get(key);
+        if (value == null) {
+            value = loader.get();
+            entries.put(key, value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * @return the memoized entity, or {@code null} if it was not loaded during this request
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T peek(Class<T> type, Object id) {
+        Map<Key, Object> entries = entries(false);
+        return entries != null ? (T) entries.get(new Key(type, id, null)) : null;
+    }
+
+    /**
+     * Drops the entity and all of its memoized attributes.
+     */
+    public static void evict(Class<?> type, Object id) {
+        Map<Key, Object> entries = entries(false);
+        if (entries != null) {
+            entries.keySet().removeIf(key -> key.type() == type && key.id().equals(id));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Key, Object> entries(boolean create) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+        Map<Key, Object> entries = (Map<Key, Object>) requestAttributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (entries == null && create) {
+            entries = new HashMap<>();
+            requestAttributes.setAttribute(ATTRIBUTE, entries, RequestAttributes.SCOPE_REQUEST);
+        }
+        return entries;
+    }
+
+    private record Key(Class<?> type, Object id, String attribute) {
+    }
+}
@@ -49,3 +49,12 @@ CREATE TABLE if not exists acl_entry
     CONSTRAINT fk_acl_entry_object FOREIGN KEY (acl_object_identity) REFERENCES acl_object_identity (id),
     CONSTRAINT fk_acl_entry_acl FOREIGN KEY (sid) REFERENCES acl_sid (id)
 ) ENGINE = InnoDB;
+
+CREATE TABLE if not exists workspace_member_roles
+(
+    workspace_id BIGINT      NOT NULL,
+    user_id      BIGINT      NOT NULL,
+    role         VARCHAR(16) NOT NULL,
+    PRIMARY KEY (workspace_id, user_id),
+    KEY idx_workspace_member_roles_user (user_id)
+) ENGINE = InnoDB;
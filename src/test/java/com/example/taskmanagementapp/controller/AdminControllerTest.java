@@ -0,0 +1,139 @@
+package com.example.taskmanagementapp.controller;
+
+import com.example.taskmanagementapp.exception.handler.GlobalExceptionHandler;
+import com.example.taskmanagementapp.model.Role;
+import com.example.taskmanagementapp.model.User;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.repository.RoleRepository;
+import com.example.taskmanagementapp.security.UserPrincipal;
+import com.example.taskmanagementapp.security.config.SecurityConfig;
+import com.example.taskmanagementapp.service.UserService;
+import com.example.taskmanagementapp.service.WorkspaceService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.jdbc.JdbcMutableAclService;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@Import({SecurityConfig.class})
+@Transactional
+@Testcontainers
+public class AdminControllerTest {
+
+    MockMvc mockMvc;
+
+    @Autowired
+    AdminController adminController;
+
+    @Autowired
+    FilterChainProxy filterChainProxy;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    WorkspaceService workspaceService;
+
+    @Autowired
+    JdbcMutableAclService jdbcMutableAclService;
+
+    User user;
+
+    Role roleAdmin;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>(
+            "mysql:8.0"
+    );
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(adminController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .apply(springSecurity(filterChainProxy))
+                .build();
+
+        Role roleUser = roleRepository.save(new Role(1L, "ROLE_USER"));
+        roleAdmin = roleRepository.save(new Role(2L, "ROLE_ADMIN"));
+
+        user = User
+                .builder()
+                .firstName("fName")
+                .lastName("lName")
+                .email("test.test@gmail.com")
+                .password("pass")
+                .roles(List.of(roleUser))
+                .build();
+        userService.save(user);
+
+        Authentication authentication = new TestingAuthenticationToken(UserPrincipal.from(user), null, "ROLE_USER");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @Test
+    void testGetAclCacheStats_AsAdmin_ReturnOk() throws Exception {
+        user.setRoles(List.of(roleAdmin));
+        mockMvc.perform(get("/admin/acl-cache").with(user(UserPrincipal.from(user))))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        jsonPath("$.maximumWeight").value(500000),
+                        jsonPath("$.hitRatio").exists()
+                );
+    }
+
+    @Test
+    void testGetAclCacheStats_AsUser_ReturnForbidden() throws Exception {
+        mockMvc.perform(get("/admin/acl-cache").with(user(UserPrincipal.from(user))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testEvictWorkspaceAcl_RemovesCachedAcl() throws Exception {
+        Workspace workspace = workspaceService.save(Workspace.builder().name("test").build());
+        jdbcMutableAclService.readAclById(new ObjectIdentityImpl(workspace));
+        user.setRoles(List.of(roleAdmin));
+
+        mockMvc.perform(get("/admin/acl-cache/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(user))))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.cached").value(true),
+                        jsonPath("$.entries").value(5)
+                );
+        mockMvc.perform(delete("/admin/acl-cache/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(user))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/admin/acl-cache/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(user))))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.cached").value(false)
+                );
+    }
+}
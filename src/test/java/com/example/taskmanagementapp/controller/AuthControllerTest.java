@@ -6,6 +6,7 @@ import com.example.taskmanagementapp.dto.RegisterRequestDTO;
 import com.example.taskmanagementapp.exception.handler.GlobalExceptionHandler;
 import com.example.taskmanagementapp.model.RefreshToken;
 import com.example.taskmanagementapp.model.Role;
+import com.example.taskmanagementapp.model.User;
 import com.example.taskmanagementapp.repository.RoleRepository;
 import com.example.taskmanagementapp.security.RefreshTokenProvider;
 import com.example.taskmanagementapp.security.config.SecurityConfig;
@@ -19,6 +20,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.web.FilterChainProxy;
@@ -30,6 +32,8 @@ import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -236,9 +240,10 @@ public class AuthControllerTest {
 
         AccessTokenResponseDTO accessTokenResponseDTO = authController.login(loginRequestDTO).getBody();
 
+        assertNotNull(refreshTokenProvider.findByToken(accessTokenResponseDTO.getRefreshToken()));
         RefreshToken refreshToken = RefreshToken
                 .builder()
-                .token(refreshTokenProvider.findByToken(accessTokenResponseDTO.getRefreshToken()).getToken())
+                .token(accessTokenResponseDTO.getRefreshToken())
                 .build();
         String content = objectMapper.writeValueAsString(refreshToken);
         mockMvc.perform(post("/auth/refresh-token")
@@ -251,6 +256,114 @@ public class AuthControllerTest {
                 );
     }
 
+    @Test
+    void testRefreshToken_WithRotatedToken_ReturnUnauthorized() throws Exception {
+
+        RegisterRequestDTO registerRequestDTO = RegisterRequestDTO
+                .builder()
+                .firstName("fName")
+                .lastName("lName")
+                .email("test.test@gmail.com")
+                .password("test")
+                .build();
+        authController.register(registerRequestDTO);
+
+        LoginRequestDTO loginRequestDTO = LoginRequestDTO
+                .builder()
+                .email("test.test@gmail.com")
+                .password("test")
+                .build();
+
+        AccessTokenResponseDTO accessTokenResponseDTO = authController.login(loginRequestDTO).getBody();
+
+        RefreshToken refreshToken = RefreshToken
+                .builder()
+                .token(accessTokenResponseDTO.getRefreshToken())
+                .build();
+        String content = objectMapper.writeValueAsString(refreshToken);
+        mockMvc.perform(post("/auth/refresh-token")
+                        .content(content).contentType(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.refreshToken").value(not(accessTokenResponseDTO.getRefreshToken()))
+                );
+        mockMvc.perform(post("/auth/refresh-token")
+                        .content(content).contentType(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        status().isUnauthorized(),
+                        jsonPath("$.statusCode").value(HttpStatus.UNAUTHORIZED.value())
+                );
+    }
+
+    @Test
+    void testRefreshToken_AfterPasswordChange_ReturnUnauthorized() throws Exception {
+
+        RegisterRequestDTO registerRequestDTO = RegisterRequestDTO
+                .builder()
+                .firstName("fName")
+                .lastName("lName")
+                .email("test.test@gmail.com")
+                .password("test")
+                .build();
+        authController.register(registerRequestDTO);
+
+        LoginRequestDTO loginRequestDTO = LoginRequestDTO
+                .builder()
+                .email("test.test@gmail.com")
+                .password("test")
+                .build();
+
+        AccessTokenResponseDTO accessTokenResponseDTO = authController.login(loginRequestDTO).getBody();
+
+        User user = userService.findByEmail("test.test@gmail.com");
+        userService.update(User.builder().password("changed").build(), user.getId());
+
+        RefreshToken refreshToken = RefreshToken
+                .builder()
+                .token(accessTokenResponseDTO.getRefreshToken())
+                .build();
+        mockMvc.perform(post("/auth/refresh-token")
+                        .content(objectMapper.writeValueAsString(refreshToken)).contentType(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        content().contentType(MediaType.APPLICATION_JSON),
+                        status().isUnauthorized(),
+                        jsonPath("$.statusCode").value(HttpStatus.UNAUTHORIZED.value())
+                );
+    }
+
+    @Test
+    void testLogout_RevokesAccessToken() throws Exception {
+
+        RegisterRequestDTO registerRequestDTO = RegisterRequestDTO
+                .builder()
+                .firstName("fName")
+                .lastName("lName")
+                .email("test.test@gmail.com")
+                .password("test")
+                .build();
+        authController.register(registerRequestDTO);
+
+        LoginRequestDTO loginRequestDTO = LoginRequestDTO
+                .builder()
+                .email("test.test@gmail.com")
+                .password("test")
+                .build();
+
+        AccessTokenResponseDTO accessTokenResponseDTO = authController.login(loginRequestDTO).getBody();
+        String authorization = "Bearer " + accessTokenResponseDTO.getAccessToken();
+
+        mockMvc.perform(post("/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpectAll(
+                        status().isUnauthorized(),
+                        jsonPath("$.statusCode").value(HttpStatus.UNAUTHORIZED.value())
+                );
+    }
+
     @Test
     void testRefreshToken_WithInvalidToken_ReturnNotFound() throws Exception {
 
@@ -0,0 +1,174 @@
+package com.example.taskmanagementapp.controller;
+
+import com.example.taskmanagementapp.exception.handler.GlobalExceptionHandler;
+import com.example.taskmanagementapp.model.Organization;
+import com.example.taskmanagementapp.model.Role;
+import com.example.taskmanagementapp.model.User;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.model.WorkspaceRole;
+import com.example.taskmanagementapp.repository.RoleRepository;
+import com.example.taskmanagementapp.security.UserPrincipal;
+import com.example.taskmanagementapp.security.config.SecurityConfig;
+import com.example.taskmanagementapp.service.OrganizationService;
+import com.example.taskmanagementapp.service.UserService;
+import com.example.taskmanagementapp.service.WorkspaceService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.MutableAclService;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@Import({SecurityConfig.class})
+@Transactional
+@Testcontainers
+@TestMethodOrder(MethodOrderer.MethodName.class)
+public class OrganizationControllerTest {
+
+    MockMvc mockMvc;
+
+    @Autowired
+    OrganizationController organizationController;
+
+    @Autowired
+    WorkspaceController workspaceController;
+
+    @Autowired
+    FilterChainProxy filterChainProxy;
+
+    @Autowired
+    OrganizationService organizationService;
+
+    @Autowired
+    WorkspaceService workspaceService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    MutableAclService mutableAclService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    User user;
+
+    User member;
+
+    Role roleUser;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>(
+            "mysql:8.0"
+    );
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(organizationController, workspaceController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .apply(springSecurity(filterChainProxy))
+                .build();
+
+        roleUser = roleRepository.save(new Role(1L, "ROLE_USER"));
+        roleRepository.save(new Role(2L, "ROLE_ADMIN"));
+
+        user = userService.save(User.builder().firstName("fName").lastName("lName")
+                .email("test.test@gmail.com").password("pass").roles(List.of(roleUser)).build());
+        member = userService.save(User.builder().firstName("fName2").lastName("lName2")
+                .email("member.test@gmail.com").password("pass").roles(List.of(roleUser)).build());
+
+        Authentication authentication = new TestingAuthenticationToken(UserPrincipal.from(user), null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @Test
+    void testSaveOrganization_WithValidData_ReturnOk() throws Exception {
+        Organization organization = Organization.builder().name("organization").build();
+
+        mockMvc.perform(post("/organizations/").with(user(UserPrincipal.from(user)))
+                        .content(objectMapper.writeValueAsString(organization)).contentType(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.name").value("organization"),
+                        jsonPath("$.creator.id").value(user.getId())
+                );
+    }
+
+    @Test
+    void testAddPermissions_OnOrganization_GrantReadOnItsWorkspaces() throws Exception {
+        Organization organization = organizationService.save(Organization.builder().name("organization").build());
+        Workspace workspace = workspaceService.save(Workspace.builder().name("workspace").build());
+
+        mockMvc.perform(get("/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(member))))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(put("/organizations/{organizationId}/workspaces/{workspaceId}",
+                        organization.getId(), workspace.getId()).with(user(UserPrincipal.from(user))))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.organizationId").value(organization.getId())
+                );
+        mockMvc.perform(post("/organizations/{organizationId}/users/{userId}/permissions",
+                        organization.getId(), member.getId()).with(user(UserPrincipal.from(user)))
+                        .content(objectMapper.writeValueAsString(List.of("READ"))).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(member))))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.id").value(workspace.getId())
+                );
+        mockMvc.perform(get("/workspaces/").with(user(UserPrincipal.from(member))))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.length()").value(1),
+                        jsonPath("$[0].id").value(workspace.getId())
+                );
+        mockMvc.perform(patch("/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(member)))
+                        .content(objectMapper.writeValueAsString(Workspace.builder().name("updated").build()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+        Assertions.assertEquals(WorkspaceRole.values().length,
+                mutableAclService.readAclById(new ObjectIdentityImpl(workspace)).getEntries().size());
+    }
+
+    @Test
+    void testAddWorkspace_WithoutWorkspaceAdministration_ReturnUnauthorized() throws Exception {
+        Workspace workspace = workspaceService.save(Workspace.builder().name("workspace").build());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(
+                UserPrincipal.from(member), null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        Organization organization = organizationService.save(Organization.builder().name("organization").build());
+
+        mockMvc.perform(put("/organizations/{organizationId}/workspaces/{workspaceId}",
+                        organization.getId(), workspace.getId()).with(user(UserPrincipal.from(member))))
+                .andExpect(status().isUnauthorized());
+        Assertions.assertNull(mutableAclService.readAclById(new ObjectIdentityImpl(workspace)).getParentAcl());
+    }
+}
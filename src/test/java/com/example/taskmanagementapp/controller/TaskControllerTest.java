@@ -10,6 +10,7 @@ import com.example.taskmanagementapp.security.config.SecurityConfig;
 import com.example.taskmanagementapp.service.TaskService;
 import com.example.taskmanagementapp.service.UserService;
 import com.example.taskmanagementapp.service.WorkspaceService;
+import com.example.taskmanagementapp.security.UserPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
@@ -38,6 +39,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -106,7 +108,7 @@ public class TaskControllerTest {
                 .roles(new ArrayList<>(List.of(roleUser)))
                 .build();
         userService.save(user);
-        Authentication authentication = new TestingAuthenticationToken(user, null, "ROLE_USER");
+        Authentication authentication = new TestingAuthenticationToken(UserPrincipal.from(user), null, "ROLE_USER");
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         workspace = Workspace.builder().name("test").build();
@@ -125,7 +127,7 @@ public class TaskControllerTest {
         mockMvc.perform(post("/tasks/")
                 .content(objectMapper.writeValueAsString(taskToSave))
                 .contentType(MediaType.APPLICATION_JSON)
-                .with(user(user))).andExpectAll(
+                .with(user(UserPrincipal.from(user)))).andExpectAll(
                 status().isOk(),
                 content().contentType(MediaType.APPLICATION_JSON),
                 jsonPath("$.creator.id").value(user.getId()),
@@ -134,6 +136,23 @@ public class TaskControllerTest {
         );
     }
 
+    @Test
+    void testSaveTask_WithoutCreatePermission_ReturnUnauthorizedAndSaveNothing() throws Exception {
+        User member = userService.save(User.builder().firstName("fName2").lastName("lName2")
+                .email("member.test@gmail.com").password("pass").workspaces(new ArrayList<>())
+                .roles(new ArrayList<>(List.of(roleUser))).build());
+        workspaceService.addUsersToWorkspace(workspace.getId(), List.of(member.getId()));
+        Task taskToSave = Task.builder().title("test")
+                .content("test")
+                .workspace(Workspace.builder().id(workspace.getId()).build()).build();
+
+        mockMvc.perform(post("/tasks/")
+                .content(objectMapper.writeValueAsString(taskToSave))
+                .contentType(MediaType.APPLICATION_JSON)
+                .with(user(UserPrincipal.from(member)))).andExpect(status().isUnauthorized());
+        assertTrue(taskService.findByWorkspaceId(workspace.getId()).isEmpty());
+    }
+
     @Test
     void testFindAll_WithValidData_ReturnOk() throws Exception {
         Task taskToSave = Task.builder().title("test")
@@ -142,7 +161,7 @@ public class TaskControllerTest {
                         .id(workspace.getId()).build()).build();
         taskService.save(taskToSave);
 
-        mockMvc.perform(get("/tasks/").with(user(user)))
+        mockMvc.perform(get("/tasks/").with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -158,7 +177,7 @@ public class TaskControllerTest {
                         .id(workspace.getId()).build()).build();
         taskService.save(taskToSave);
         mockMvc.perform(get("/tasks/workspace/{id}", workspace.getId())
-                        .with(user(user)))
+                        .with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -175,7 +194,7 @@ public class TaskControllerTest {
                         .id(workspace.getId()).build()).build();
         taskService.save(taskToSave);
         mockMvc.perform(get("/tasks/workspace/{id}", -5)
-                        .with(user(user)))
+                        .with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isUnauthorized(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -193,7 +212,7 @@ public class TaskControllerTest {
                         .id(workspace.getId()).build()).build();
         task = taskService.save(task);
 
-        mockMvc.perform(get("/tasks/{id}", task.getId()).with(user(user)))
+        mockMvc.perform(get("/tasks/{id}", task.getId()).with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -209,7 +228,7 @@ public class TaskControllerTest {
                         .id(workspace.getId()).build()).build();
         task = taskService.save(task);
 
-        mockMvc.perform(get("/tasks/{id}", -5).with(user(user)))
+        mockMvc.perform(get("/tasks/{id}", -5).with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isNotFound(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -235,7 +254,7 @@ public class TaskControllerTest {
         workspaceService.update(workspace, workspace.getId());
 
         Task newTask = Task.builder().title("updated title").content("updated content").build();
-        mockMvc.perform(patch("/tasks/{id}", task.getId()).with(user(user))
+        mockMvc.perform(patch("/tasks/{id}", task.getId()).with(user(UserPrincipal.from(user)))
                         .content(objectMapper.writeValueAsString(newTask)).contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(
                         status().isOk(),
@@ -254,7 +273,7 @@ public class TaskControllerTest {
         acl.insertAce(acl.getEntries().size(), BasePermission.WRITE, new PrincipalSid(authentication), true);
 
         Task newTask = Task.builder().title("updated title").content("updated content").build();
-        mockMvc.perform(patch("/tasks/{id}", -5).with(user(user))
+        mockMvc.perform(patch("/tasks/{id}", -5).with(user(UserPrincipal.from(user)))
                         .content(objectMapper.writeValueAsString(newTask)).contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(
                         status().isNotFound(),
@@ -283,7 +302,7 @@ public class TaskControllerTest {
 
         performer = userService.save(performer);
         Workspace workspace1 = workspaceService.addUsersToWorkspace(workspace.getId(), List.of(performer.getId()));
-        mockMvc.perform(patch("/tasks/{id}/users", task.getId()).with(user(user))
+        mockMvc.perform(patch("/tasks/{id}/users", task.getId()).with(user(UserPrincipal.from(user)))
                 .content(objectMapper.writeValueAsString(List.of(performer.getId())))
                 .contentType(MediaType.APPLICATION_JSON)).andExpectAll(
                 status().isOk(),
@@ -293,6 +312,39 @@ public class TaskControllerTest {
 
     }
 
+    @Test
+    void testAddPerformersToTask_WithExistingPerformer_AddOnlyNewOnes() throws Exception {
+        Task task = taskService.save(Task.builder().title("test").content("test").workspace(workspace)
+                .performers(new ArrayList<>()).build());
+        User performer = userService.save(User.builder().firstName("fName2").lastName("lName2")
+                .email("test2.test@gmail.com").password("pass").workspaces(new ArrayList<>()).build());
+        workspaceService.addUsersToWorkspace(workspace.getId(), List.of(performer.getId()));
+        taskService.addPerformersToTask(task.getId(), List.of(performer.getId()));
+
+        mockMvc.perform(patch("/tasks/{id}/users", task.getId()).with(user(UserPrincipal.from(user)))
+                .content(objectMapper.writeValueAsString(List.of(performer.getId(), user.getId(), performer.getId())))
+                .contentType(MediaType.APPLICATION_JSON)).andExpectAll(
+                status().isOk(),
+                jsonPath("$.performers.length()").value(2)
+        );
+    }
+
+    @Test
+    void testAddPerformersToTask_WithUserNotInWorkspace_ReturnBadRequestAndAddNobody() throws Exception {
+        Task task = taskService.save(Task.builder().title("test").content("test").workspace(workspace)
+                .performers(new ArrayList<>()).build());
+        User outsider = userService.save(User.builder().firstName("fName2").lastName("lName2")
+                .email("test2.test@gmail.com").password("pass").workspaces(new ArrayList<>()).build());
+
+        mockMvc.perform(patch("/tasks/{id}/users", task.getId()).with(user(UserPrincipal.from(user)))
+                .content(objectMapper.writeValueAsString(List.of(user.getId(), outsider.getId())))
+                .contentType(MediaType.APPLICATION_JSON)).andExpectAll(
+                status().isBadRequest(),
+                jsonPath("$.message").value(String.format("User[%s] not in workspace!", outsider.getEmail()))
+        );
+        assertTrue(userService.findUsersByTasksId(task.getId()).isEmpty());
+    }
+
     @Test
     void testAddPerformersToTask_WithInvalidTaskId_ReturnNotFound() throws Exception {
         Task task = Task.builder().title("test")
@@ -311,7 +363,7 @@ public class TaskControllerTest {
                 .roles(List.of(roleUser))
                 .build();
         performer = userService.save(performer);
-        mockMvc.perform(patch("/tasks/{id}/users", -5).with(user(user))
+        mockMvc.perform(patch("/tasks/{id}/users", -5).with(user(UserPrincipal.from(user)))
                 .content(objectMapper.writeValueAsString(List.of(performer.getId()))).contentType(MediaType.APPLICATION_JSON)).andExpectAll(
                 status().isNotFound(),
                 content().contentType(MediaType.APPLICATION_JSON),
@@ -330,7 +382,7 @@ public class TaskControllerTest {
                 .build();
         task = taskService.save(task);
 
-        mockMvc.perform(patch("/tasks/{id}/users", task.getId()).with(user(user))
+        mockMvc.perform(patch("/tasks/{id}/users", task.getId()).with(user(UserPrincipal.from(user)))
                 .content(objectMapper.writeValueAsString(List.of(-5))).contentType(MediaType.APPLICATION_JSON)).andExpectAll(
                 status().isNotFound(),
                 content().contentType(MediaType.APPLICATION_JSON),
@@ -361,7 +413,7 @@ public class TaskControllerTest {
         performer = userService.save(performer);
         workspaceService.addUsersToWorkspace(workspace.getId(), List.of(performer.getId()));
         mockMvc.perform(patch("/tasks/{id}/users/{userId}", task.getId(), performer.getId())
-                        .with(user(user)))
+                        .with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON)
@@ -389,7 +441,7 @@ public class TaskControllerTest {
         workspaceService.addUsersToWorkspace(workspace.getId(), List.of(performer.getId()));
 
         mockMvc.perform(patch("/tasks/{id}/users/{userId}", -5, performer.getId())
-                        .with(user(user)))
+                        .with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isNotFound(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -419,7 +471,7 @@ public class TaskControllerTest {
         workspaceService.addUsersToWorkspace(workspace.getId(), List.of(performer.getId()));
 
         mockMvc.perform(patch("/tasks/{id}/users/{userId}", task.getId(), -5)
-                        .with(user(user)))
+                        .with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isNotFound(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -448,7 +500,7 @@ public class TaskControllerTest {
         performer = userService.save(performer);
 
         mockMvc.perform(patch("/tasks/{id}/users/{userId}", task.getId(), performer.getId())
-                        .with(user(user)))
+                        .with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isBadRequest(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -482,7 +534,7 @@ public class TaskControllerTest {
         performer = userService.save(performer);
         workspaceService.addUsersToWorkspace(workspace.getId(), List.of(performer.getId()));
         mockMvc.perform(delete("/tasks/{id}", task.getId())
-                        .with(user(user)))
+                        .with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON)
@@ -516,7 +568,7 @@ public class TaskControllerTest {
         performer = userService.save(performer);
         workspaceService.addUsersToWorkspace(workspace.getId(), List.of(performer.getId()));
         mockMvc.perform(delete("/tasks/{id}", -5)
-                        .with(user(user)))
+                        .with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isNotFound(),
                         content().contentType(MediaType.APPLICATION_JSON),
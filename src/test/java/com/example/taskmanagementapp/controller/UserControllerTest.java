@@ -12,6 +12,7 @@ import com.example.taskmanagementapp.security.config.SecurityConfig;
 import com.example.taskmanagementapp.service.TaskService;
 import com.example.taskmanagementapp.service.UserService;
 import com.example.taskmanagementapp.service.WorkspaceService;
+import com.example.taskmanagementapp.security.UserPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
@@ -131,7 +132,7 @@ public class UserControllerTest {
     @Test
     void testFindAll_ReturnOk() throws Exception {
         user.setRoles(List.of(roleAdmin));
-        mockMvc.perform(get("/users/").with(user(user))
+        mockMvc.perform(get("/users/").with(user(UserPrincipal.from(user)))
                         .content(List.of(UserMapper.USER_MAPPER.userToUserDTO(user))
                                 .toString()))
                 .andExpectAll(
@@ -142,7 +143,7 @@ public class UserControllerTest {
 
     @Test
     void testFindById_WithValidId_ReturnOk() throws Exception {
-        mockMvc.perform(get("/users/{id}", user.getId()).with(user(user))
+        mockMvc.perform(get("/users/{id}", user.getId()).with(user(UserPrincipal.from(user)))
                         .content(List.of(UserMapper.USER_MAPPER.userToUserDTO(user))
                                 .toString()))
                 .andExpectAll(status().isOk(),
@@ -162,7 +163,7 @@ public class UserControllerTest {
                 .build();
         userService.save(user2);
 
-        mockMvc.perform(get("/users/{id}", user2.getId()).with(user(user)))
+        mockMvc.perform(get("/users/{id}", user2.getId()).with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isBadRequest(),
                         jsonPath("$.statusCode").value(HttpStatus.BAD_REQUEST.value()),
@@ -183,7 +184,7 @@ public class UserControllerTest {
                 .build();
 
         String content = objectMapper.writeValueAsString(UserMapper.USER_MAPPER.userToUserDTO(updatedUser));
-        mockMvc.perform(patch("/users/{id}", user.getId()).with(user(user)).content(content)
+        mockMvc.perform(patch("/users/{id}", user.getId()).with(user(UserPrincipal.from(user))).content(content)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -204,7 +205,7 @@ public class UserControllerTest {
                 .roles(new ArrayList<>())
                 .build();
         String content = objectMapper.writeValueAsString(UserMapper.USER_MAPPER.userToUserDTO(updatedUser));
-        mockMvc.perform(patch("/users/{id}", -5).with(user(user)).content(content)
+        mockMvc.perform(patch("/users/{id}", -5).with(user(UserPrincipal.from(user))).content(content)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(status().isBadRequest(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -218,7 +219,7 @@ public class UserControllerTest {
 
     @Test
     void testDeleteById_WithValidId_ReturnOk() throws Exception {
-        mockMvc.perform(delete("/users/{id}", user.getId()).with(user(user))
+        mockMvc.perform(delete("/users/{id}", user.getId()).with(user(UserPrincipal.from(user)))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -239,7 +240,7 @@ public class UserControllerTest {
                 .build();
         userService.save(user2);
 
-        mockMvc.perform(delete("/users/{id}", user2.getId()).with(user(user)))
+        mockMvc.perform(delete("/users/{id}", user2.getId()).with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isBadRequest(),
                         jsonPath("$.statusCode").value(HttpStatus.BAD_REQUEST.value()),
@@ -252,7 +253,7 @@ public class UserControllerTest {
 
     @Test
     void testFindUsersByWorkspaceId_WithValidWorkspaceId_ReturnOk() throws Exception {
-        Authentication authentication = new TestingAuthenticationToken(user, null,
+        Authentication authentication = new TestingAuthenticationToken(UserPrincipal.from(user), null,
                 List.of(new SimpleGrantedAuthority("ROLE_USER")));
         SecurityContextHolder.getContext().setAuthentication(authentication);
         User user2 = User
@@ -276,7 +277,7 @@ public class UserControllerTest {
                         .build()
         );
 
-        mockMvc.perform(get("/users/workspace/{id}", workspace.getId()).with(user(user)))
+        mockMvc.perform(get("/users/workspace/{id}", workspace.getId()).with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -290,10 +291,10 @@ public class UserControllerTest {
 
     @Test
     void testFindUsersByWorkspaceId_WithWorkspaceNotFound_ReturnNotFound() throws Exception {
-        Authentication authentication = new TestingAuthenticationToken(user, null,
+        Authentication authentication = new TestingAuthenticationToken(UserPrincipal.from(user), null,
                 List.of(new SimpleGrantedAuthority("ROLE_USER")));
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        mockMvc.perform(get("/users/workspace/{id}", -5).with(user(user)))
+        mockMvc.perform(get("/users/workspace/{id}", -5).with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isNotFound(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -304,7 +305,7 @@ public class UserControllerTest {
 
     @Test
     void testFindUsersByTaskId_WithValidTaskId_ReturnOk() throws Exception {
-        Authentication authentication = new TestingAuthenticationToken(user, null,
+        Authentication authentication = new TestingAuthenticationToken(UserPrincipal.from(user), null,
                 List.of(new SimpleGrantedAuthority("ROLE_USER")));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -327,7 +328,7 @@ public class UserControllerTest {
         taskService.save(task);
 
         mockMvc.perform(get("/users/task/{id}", task.getId())
-                        .with(user(user)))
+                        .with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -340,8 +341,8 @@ public class UserControllerTest {
     }
 
     @Test
-    void testFindUsersByTaskId_WithInvalidTaskId_ReturnUnAuthorized() throws Exception {
-        Authentication authentication = new TestingAuthenticationToken(user, null,
+    void testFindUsersByTaskId_WithInvalidTaskId_ReturnNotFound() throws Exception {
+        Authentication authentication = new TestingAuthenticationToken(UserPrincipal.from(user), null,
                 List.of(new SimpleGrantedAuthority("ROLE_USER")));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -357,10 +358,10 @@ public class UserControllerTest {
         );
 
         mockMvc.perform(get("/users/task/{id}", 0)
-                        .with(user(user)))
+                        .with(user(UserPrincipal.from(user))))
                 .andExpectAll(
-                        status().isUnauthorized(),
-                        jsonPath("$.statusCode").value(HttpStatus.UNAUTHORIZED.value()),
+                        status().isNotFound(),
+                        jsonPath("$.statusCode").value(HttpStatus.NOT_FOUND.value()),
                         jsonPath("$.message").exists()
                 );
 
@@ -1,13 +1,16 @@
 package com.example.taskmanagementapp.controller;
 
+import com.example.taskmanagementapp.dto.MembershipImportRequestDTO;
 import com.example.taskmanagementapp.exception.handler.GlobalExceptionHandler;
 import com.example.taskmanagementapp.model.Role;
 import com.example.taskmanagementapp.model.User;
 import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.model.WorkspaceRole;
 import com.example.taskmanagementapp.repository.RoleRepository;
 import com.example.taskmanagementapp.security.config.SecurityConfig;
 import com.example.taskmanagementapp.service.UserService;
 import com.example.taskmanagementapp.service.WorkspaceService;
+import com.example.taskmanagementapp.security.UserPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.*;
@@ -17,6 +20,7 @@ import org.springframework.boot.testcontainers.service.connection.ServiceConnect
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
 import org.springframework.security.acls.model.MutableAclService;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -99,7 +103,7 @@ public class WorkspaceControllerTest {
                 .build();
         userService.save(user);
 
-        Authentication authentication = new TestingAuthenticationToken(user, null,
+        Authentication authentication = new TestingAuthenticationToken(UserPrincipal.from(user), null,
                 List.of(new SimpleGrantedAuthority("ROLE_USER")));
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -111,7 +115,7 @@ public class WorkspaceControllerTest {
         Workspace workspace = Workspace.builder().name("test").build();
 
         String content = objectMapper.writeValueAsString(workspace);
-        mockMvc.perform(post("/workspaces/").with(user(user))
+        mockMvc.perform(post("/workspaces/").with(user(UserPrincipal.from(user)))
                         .content(content).contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(
                         status().isOk(),
@@ -129,7 +133,7 @@ public class WorkspaceControllerTest {
         Workspace workspace = Workspace.builder().build();
 
         String content = objectMapper.writeValueAsString(workspace);
-        mockMvc.perform(post("/workspaces/").with(user(user))
+        mockMvc.perform(post("/workspaces/").with(user(UserPrincipal.from(user)))
                         .content(content).contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(
                         status().isBadRequest(),
@@ -145,7 +149,7 @@ public class WorkspaceControllerTest {
         Workspace workspace2 = Workspace.builder().name("test2").build();
         workspaceService.save(workspace);
         workspaceService.save(workspace2);
-        mockMvc.perform(get("/workspaces/").with(user(user)))
+        mockMvc.perform(get("/workspaces/").with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -155,12 +159,57 @@ public class WorkspaceControllerTest {
 
     }
 
+    @Test
+    void testFindAll_WithPageSize_ReturnNextCursor() throws Exception {
+        Workspace workspace = workspaceService.save(Workspace.builder().name("test").build());
+        Workspace workspace2 = workspaceService.save(Workspace.builder().name("test2").build());
+        Workspace workspace3 = workspaceService.save(Workspace.builder().name("test3").build());
+        mockMvc.perform(get("/workspaces/").param("size", "2").with(user(UserPrincipal.from(user))))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string("X-Next-Cursor", String.valueOf(workspace2.getId())),
+                        jsonPath("$.size()").value(2),
+                        jsonPath("$[0].id").value(workspace.getId())
+                );
+        mockMvc.perform(get("/workspaces/").param("size", "2").param("after", String.valueOf(workspace2.getId()))
+                        .with(user(UserPrincipal.from(user))))
+                .andExpectAll(
+                        status().isOk(),
+                        header().doesNotExist("X-Next-Cursor"),
+                        jsonPath("$.size()").value(1),
+                        jsonPath("$[0].id").value(workspace3.getId())
+                );
+    }
+
+    @Test
+    void testImportMembers_WithValidData_ReturnPerItemResults() throws Exception {
+        Workspace workspace = workspaceService.save(Workspace.builder().name("test").build());
+        User member = userService.save(User.builder().firstName("fName2").lastName("lName2")
+                .email("member.test@gmail.com").password("pass").roles(List.of(roleUser)).build());
+        MembershipImportRequestDTO request = MembershipImportRequestDTO.builder()
+                .userIds(List.of(member.getId()))
+                .emails(List.of(user.getEmail(), "missing.test@gmail.com"))
+                .build();
+
+        mockMvc.perform(post("/workspaces/{id}/members/import", workspace.getId()).with(user(UserPrincipal.from(user)))
+                        .content(objectMapper.writeValueAsString(request)).contentType(MediaType.APPLICATION_JSON))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.size()").value(3),
+                        jsonPath("$[0].status").value("ADDED"),
+                        jsonPath("$[1].status").value("ALREADY_MEMBER"),
+                        jsonPath("$[2].status").value("NOT_FOUND")
+                );
+        Assertions.assertTrue(userService.findUsersByWorkspacesId(workspace.getId()).stream()
+                .anyMatch(found -> found.getId().equals(member.getId())));
+    }
+
     @Test
     void testFindById_WithValidId_ReturnOk() throws Exception {
         Workspace workspace = Workspace.builder().name("test").build();
         workspaceService.save(workspace);
 
-        mockMvc.perform(get("/workspaces/{id}", workspace.getId()).with(user(user)))
+        mockMvc.perform(get("/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -171,7 +220,7 @@ public class WorkspaceControllerTest {
     @Test
     void testFindById_WithInValidId_ReturnNotFound() throws Exception {
 
-        mockMvc.perform(get("/workspaces/{id}", -5).with(user(user)))
+        mockMvc.perform(get("/workspaces/{id}", -5).with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isNotFound(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -187,7 +236,7 @@ public class WorkspaceControllerTest {
 
         Workspace updatedWorkspace = Workspace.builder().name("updated").build();
 
-        mockMvc.perform(patch("/workspaces/{id}", workspace.getId()).with(user(user))
+        mockMvc.perform(patch("/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(user)))
                         .content(objectMapper.writeValueAsString(updatedWorkspace))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(
@@ -196,6 +245,29 @@ public class WorkspaceControllerTest {
                 );
     }
 
+    @Test
+    void testChangeMemberRole_ToEditor_GrantWrite() throws Exception {
+        Workspace workspace = workspaceService.save(Workspace.builder().name("test").build());
+        User member = userService.save(User.builder().firstName("fName2").lastName("lName2")
+                .email("member.test@gmail.com").password("pass").roles(List.of(roleUser)).build());
+        workspaceService.addUsersToWorkspace(workspace.getId(), List.of(member.getId()));
+        Workspace updatedWorkspace = Workspace.builder().name("updated").build();
+
+        mockMvc.perform(patch("/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(member)))
+                        .content(objectMapper.writeValueAsString(updatedWorkspace))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(put("/workspaces/{workspaceId}/users/{userId}/role", workspace.getId(), member.getId())
+                        .param("role", "EDITOR").with(user(UserPrincipal.from(user))))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(member)))
+                        .content(objectMapper.writeValueAsString(updatedWorkspace))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(WorkspaceRole.values().length,
+                mutableAclService.readAclById(new ObjectIdentityImpl(workspace)).getEntries().size());
+    }
+
     @Test
     void testUpdate_WithInvalidId_ReturnUnauthorized() throws Exception {
 
@@ -204,7 +276,7 @@ public class WorkspaceControllerTest {
 
         Workspace updatedWorkspace = Workspace.builder().name("updated").build();
 
-        mockMvc.perform(patch("/workspaces/{id}", -5).with(user(user))
+        mockMvc.perform(patch("/workspaces/{id}", -5).with(user(UserPrincipal.from(user)))
                         .content(objectMapper.writeValueAsString(updatedWorkspace))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(
@@ -219,7 +291,7 @@ public class WorkspaceControllerTest {
     void testDeleteById_WithValidId_ReturnOk() throws Exception {
         Workspace workspace = Workspace.builder().name("test").build();
         workspaceService.save(workspace);
-        mockMvc.perform(delete("/workspaces/{id}", workspace.getId()).with(user(user)))
+        mockMvc.perform(delete("/workspaces/{id}", workspace.getId()).with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isOk(),
                         content().contentType(MediaType.APPLICATION_JSON)
@@ -231,7 +303,7 @@ public class WorkspaceControllerTest {
         Workspace workspace = Workspace.builder().name("test").build();
         workspaceService.save(workspace);
         workspaceService.addPermissionsForUserInWorkspace(workspace.getId(), user.getId(), List.of("ADMIN"));
-        mockMvc.perform(delete("/workspaces/{id}", -5).with(user(user)))
+        mockMvc.perform(delete("/workspaces/{id}", -5).with(user(UserPrincipal.from(user))))
                 .andExpectAll(
                         status().isUnauthorized(),
                         content().contentType(MediaType.APPLICATION_JSON),
@@ -250,7 +322,7 @@ public class WorkspaceControllerTest {
         userService.save(user2);
         workspaceService.addPermissionsForUserInWorkspace(workspace.getId(), user.getId(), List.of("ADMIN"));
 
-        mockMvc.perform(post("/workspaces/{id}/users", workspace.getId()).with(user(user))
+        mockMvc.perform(post("/workspaces/{id}/users", workspace.getId()).with(user(UserPrincipal.from(user)))
                         .content(objectMapper.writeValueAsString(List.of(user2.getId()))).contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(
                         status().isOk(),
@@ -268,7 +340,7 @@ public class WorkspaceControllerTest {
         userService.save(user2);
         workspaceService.addPermissionsForUserInWorkspace(workspace.getId(), user.getId(), List.of("ADMIN"));
 
-        mockMvc.perform(post("/workspaces/{id}/users", -5).with(user(user))
+        mockMvc.perform(post("/workspaces/{id}/users", -5).with(user(UserPrincipal.from(user)))
                         .content(objectMapper.writeValueAsString(List.of(user2.getId()))).contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(
                         status().isUnauthorized(),
@@ -288,7 +360,7 @@ public class WorkspaceControllerTest {
         userService.save(user2);
         workspaceService.addPermissionsForUserInWorkspace(workspace.getId(), user.getId(), List.of("ADMIN"));
 
-        mockMvc.perform(post("/workspaces/{id}/users", workspace.getId()).with(user(user))
+        mockMvc.perform(post("/workspaces/{id}/users", workspace.getId()).with(user(UserPrincipal.from(user)))
                         .content(objectMapper.writeValueAsString(List.of(-5))).contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(
                         status().isNotFound(),
@@ -310,7 +382,7 @@ public class WorkspaceControllerTest {
         workspaceService.addPermissionsForUserInWorkspace(workspace.getId(), user.getId(), List.of("ADMIN"));
         workspaceService.addUsersToWorkspace(workspace.getId(), List.of(user2.getId()));
         mockMvc.perform(patch("/workspaces/{id}/users/{userId}", workspace.getId(), user2.getId())
-                .with(user(user)).contentType(MediaType.APPLICATION_JSON)).andExpectAll(
+                .with(user(UserPrincipal.from(user))).contentType(MediaType.APPLICATION_JSON)).andExpectAll(
                 status().isOk(),
                 content().contentType(MediaType.APPLICATION_JSON)
         );
@@ -325,7 +397,7 @@ public class WorkspaceControllerTest {
         workspaceService.save(workspace);
         workspaceService.addPermissionsForUserInWorkspace(workspace.getId(), user.getId(), List.of("ADMIN"));
         mockMvc.perform(patch("/workspaces/{id}/users/{userId}", workspace.getId(), -5)
-                .with(user(user)).contentType(MediaType.APPLICATION_JSON))
+                .with(user(UserPrincipal.from(user))).contentType(MediaType.APPLICATION_JSON))
                 .andExpectAll(
                 status().isNotFound(),
                 content().contentType(MediaType.APPLICATION_JSON),
@@ -346,7 +418,7 @@ public class WorkspaceControllerTest {
         workspaceService.addPermissionsForUserInWorkspace(workspace.getId(), user.getId(), List.of("ADMIN"));
         workspaceService.addUsersToWorkspace(workspace.getId(), List.of(user2.getId()));
         mockMvc.perform(patch("/workspaces/{id}/users/{userId}", -5, user2.getId())
-                .with(user(user)).contentType(MediaType.APPLICATION_JSON)).andExpectAll(
+                .with(user(UserPrincipal.from(user))).contentType(MediaType.APPLICATION_JSON)).andExpectAll(
                 status().isUnauthorized(),
                 content().contentType(MediaType.APPLICATION_JSON),
                 jsonPath("$.statusCode").value(HttpStatus.UNAUTHORIZED.value()),
@@ -363,7 +435,7 @@ public class WorkspaceControllerTest {
         workspaceService.save(workspace);
         workspaceService.addPermissionsForUserInWorkspace(workspace.getId(), user.getId(), List.of("ADMIN"));
         mockMvc.perform(patch("/workspaces/{id}/users/{userId}", workspace.getId(), user2.getId())
-                .with(user(user))).andExpectAll(
+                .with(user(UserPrincipal.from(user)))).andExpectAll(
                 status().isBadRequest(),
                 content().contentType(MediaType.APPLICATION_JSON),
                 jsonPath("$.statusCode").value(HttpStatus.BAD_REQUEST.value()),
@@ -0,0 +1,166 @@
+package com.example.taskmanagementapp.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class WorkspaceMembershipIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final WorkspaceMembershipRepository membershipRepository = mock(WorkspaceMembershipRepository.class);
+
+    private final WorkspaceMembershipIndex membershipIndex = new WorkspaceMembershipIndex(jdbcTemplate, membershipRepository);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(membershipIndex);
+    }
+
+    @Test
+    void testIsMember_BeforeLoad_AnsweredFromTable() {
+        when(membershipRepository.findMemberIds(1L, List.of(2L))).thenReturn(Set.of(2L));
+
+        assertTrue(membershipIndex.isMember(2L, 1L));
+        verify(membershipRepository).findMemberIds(1L, List.of(2L));
+    }
+
+    @Test
+    void testFindMemberIds_AfterLoad_AnsweredFromBitmaps() throws Exception {
+        memberships(new long[]{1L, 2L}, new long[]{1L, 3L}, new long[]{4L, 2L});
+        membershipIndex.load();
+
+        assertTrue(membershipIndex.isMember(2L, 1L));
+        assertFalse(membershipIndex.isMember(2L, 5L));
+        assertEquals(Set.of(2L, 3L), membershipIndex.findMemberIds(1L, List.of(2L, 3L, 4L, 6L)));
+        verifyNoInteractions(membershipRepository);
+    }
+
+    @Test
+    void testLoad_IdTooLargeForBitmap_AnsweredFromTable() throws Exception {
+        long largeId = 1L << 33;
+        memberships(new long[]{1L, largeId});
+        when(membershipRepository.findMemberIds(1L, List.of(largeId))).thenReturn(Set.of(largeId));
+        membershipIndex.load();
+
+        assertTrue(membershipIndex.isMember(largeId, 1L));
+        verify(membershipRepository).findMemberIds(1L, List.of(largeId));
+    }
+
+    @Test
+    void testAddMembers_IdTooLargeForBitmap_AnsweredFromTableFromThenOn() throws Exception {
+        long largeId = 1L << 33;
+        memberships(new long[]{1L, 2L});
+        membershipIndex.load();
+
+        membershipIndex.addMembers(1L, List.of(largeId));
+
+        assertFalse(membershipIndex.isMember(2L, 1L));
+        verify(membershipRepository).findMemberIds(1L, List.of(2L));
+    }
+
+    @Test
+    void testAddMembers_WithinTransaction_VisibleToOthersOnlyAfterCommit() throws Exception {
+        memberships(new long[]{1L, 2L});
+        membershipIndex.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        membershipIndex.addMembers(1L, List.of(3L));
+
+        assertTrue(membershipIndex.isMember(3L, 1L));
+        assertFalse(isMemberFromOtherThread(3L, 1L));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertTrue(membershipIndex.isMember(3L, 1L));
+        assertTrue(isMemberFromOtherThread(3L, 1L));
+    }
+
+    @Test
+    void testRemovals_RolledBack_PublishedStateKept() throws Exception {
+        memberships(new long[]{1L, 2L}, new long[]{1L, 3L}, new long[]{4L, 3L});
+        membershipIndex.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        membershipIndex.removeMember(1L, 2L);
+        membershipIndex.removeUser(3L);
+        membershipIndex.removeWorkspace(4L);
+
+        assertEquals(Set.of(), membershipIndex.findMemberIds(1L, List.of(2L, 3L)));
+        assertFalse(membershipIndex.isMember(3L, 4L));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(Set.of(2L, 3L), membershipIndex.findMemberIds(1L, List.of(2L, 3L)));
+        assertTrue(membershipIndex.isMember(3L, 4L));
+    }
+
+    @Test
+    void testAddMembers_CommittedDuringLoad_AppliedOnTopOfLoadedState() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            scanning.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            invocation.<RowCallbackHandler>getArgument(1).processRow(row(1L, 2L));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        CompletableFuture<Void> load = CompletableFuture.runAsync(membershipIndex::load);
+        assertTrue(scanning.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> membershipIndex.addMembers(1L, List.of(3L)));
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+        write.get(5, TimeUnit.SECONDS);
+
+        assertEquals(Set.of(2L, 3L), membershipIndex.findMemberIds(1L, List.of(2L, 3L)));
+    }
+
+    private boolean isMemberFromOtherThread(long userId, long workspaceId) throws Exception {
+        return CompletableFuture.supplyAsync(() -> membershipIndex.isMember(userId, workspaceId)).get();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private void memberships(long[]... rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] row : rows) {
+                handler.processRow(row(row[0], row[1]));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet row(long workspaceId, long userId) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(workspaceId);
+        when(resultSet.getLong(2)).thenReturn(userId);
+        return resultSet;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final PasswordEncoder delegate = mock(PasswordEncoder.class);
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void testMatches_QueueFull_RejectedImmediately() throws Exception {
+        blockDelegate();
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, 10_000, meterRegistry);
+        CompletableFuture.runAsync(() -> passwordEncoder.matches("first", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> passwordEncoder.matches("queued", "hash"));
+        waitForQueuedTask();
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordEncoder.matches("rejected", "hash"));
+        assertEquals(1.0, meterRegistry.counter("password.hashing.rejected").count());
+    }
+
+    @Test
+    void testMatches_HashingTooSlow_RejectedAfterTimeout() {
+        blockDelegate();
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, 50, meterRegistry);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> passwordEncoder.matches("slow", "hash"));
+        assertEquals(1.0, meterRegistry.counter("password.hashing.rejected").count());
+    }
+
+    @Test
+    void testMatches_WithinLimits_ReturnDelegateResult() {
+        when(delegate.matches("pass", "hash")).thenReturn(true);
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, 5_000, meterRegistry);
+
+        assertTrue(passwordEncoder.matches("pass", "hash"));
+        assertEquals(0.0, meterRegistry.counter("password.hashing.rejected").count());
+    }
+
+    private void blockDelegate() {
+        when(delegate.matches(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "second task was never queued");
+            Thread.sleep(5);
+        }
+    }
+}
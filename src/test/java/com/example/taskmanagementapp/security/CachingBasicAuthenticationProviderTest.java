@@ -0,0 +1,79 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.event.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CachingBasicAuthenticationProviderTest {
+
+    private final AuthenticationProvider delegate = mock(AuthenticationProvider.class);
+
+    private final UserDetails principal = User.withUsername("email").password("").authorities(List.of()).build();
+
+    private BasicCredentialsCache basicCredentialsCache;
+
+    private CachingBasicAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        basicCredentialsCache = new BasicCredentialsCache();
+        ReflectionTestUtils.setField(basicCredentialsCache, "cacheSize", 100L);
+        ReflectionTestUtils.setField(basicCredentialsCache, "cacheTtl", 60_000L);
+        basicCredentialsCache.init();
+        provider = new CachingBasicAuthenticationProvider(delegate, basicCredentialsCache);
+
+        when(delegate.authenticate(any())).thenAnswer(invocation -> {
+            Authentication authentication = invocation.getArgument(0);
+            if (!"pass".equals(authentication.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(principal, null, List.of());
+        });
+    }
+
+    @Test
+    void testAuthenticate_SameCredentialsTwice_DelegatesOnce() {
+        provider.authenticate(credentials("pass"));
+        Authentication cached = provider.authenticate(credentials("pass"));
+
+        assertSame(principal, cached.getPrincipal());
+        assertTrue(cached.isAuthenticated());
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_WrongPasswordAfterHit_Rejected() {
+        provider.authenticate(credentials("pass"));
+        provider.authenticate(credentials("pass"));
+
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("wrong")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("wrong")));
+        verify(delegate, times(3)).authenticate(any());
+    }
+
+    @Test
+    void testAuthenticate_AfterUserChange_VerifiedAgain() {
+        provider.authenticate(credentials("pass"));
+
+        basicCredentialsCache.evictOnUserChange(new UserChangedEvent(1L, "email"));
+        provider.authenticate(credentials("pass"));
+
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private static Authentication credentials(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated("email", password);
+    }
+}
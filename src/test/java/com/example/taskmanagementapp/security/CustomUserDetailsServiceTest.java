@@ -0,0 +1,86 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.event.UserChangedEvent;
+import com.example.taskmanagementapp.model.Role;
+import com.example.taskmanagementapp.model.User;
+import com.example.taskmanagementapp.security.config.CacheConfig;
+import com.example.taskmanagementapp.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+public class CustomUserDetailsServiceTest {
+
+    @Configuration
+    @EnableCaching
+    @Import(CustomUserDetailsService.class)
+    static class Config {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.USERS_CACHE);
+        }
+    }
+
+    @MockBean
+    private UserService userService;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.USERS_CACHE).clear();
+        user = User.builder().id(1L).email("email").password("hash").roles(List.of(new Role("ROLE_USER"))).build();
+        when(userService.findByEmail("email")).thenReturn(user);
+    }
+
+    @Test
+    void testLoadPrincipalByUsername_SecondCall_ServedFromCacheWithoutPassword() {
+        UserPrincipal first = customUserDetailsService.loadPrincipalByUsername("email");
+        UserPrincipal second = customUserDetailsService.loadPrincipalByUsername("email");
+
+        assertSame(first, second);
+        assertNull(first.getPassword());
+        verify(userService, times(1)).findByEmail("email");
+    }
+
+    @Test
+    void testLoadPrincipalByUsername_AfterUserChange_LoadedAgain() {
+        customUserDetailsService.loadPrincipalByUsername("email");
+
+        customUserDetailsService.evictOnUserChange(new UserChangedEvent(1L, "email"));
+        customUserDetailsService.loadPrincipalByUsername("email");
+
+        verify(userService, times(2)).findByEmail("email");
+    }
+
+    @Test
+    void testLoadUserByUsername_NeverCached() {
+        UserPrincipal first = (UserPrincipal) customUserDetailsService.loadUserByUsername("email");
+        UserPrincipal second = (UserPrincipal) customUserDetailsService.loadUserByUsername("email");
+
+        assertNotSame(first, second);
+        assertEquals("hash", first.getPassword());
+        verify(userService, times(2)).findByEmail("email");
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.taskmanagementapp.security;
+
+import com.example.taskmanagementapp.event.UserChangedEvent;
+import com.example.taskmanagementapp.repository.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class JwtTokenFilterTest {
+
+    private static final String SECRET_KEY =
+            "MTBlYjk5NDAyNzRiYzEwYjVjYTIyMTY4M2EzNzlhYTExNzMwYWUzYjY0MzljYWFlY2Q0MWM3NTRkMzY0Y2Y4Nw==";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final CustomUserDetailsService customUserDetailsService = mock(CustomUserDetailsService.class);
+
+    private final AccessTokenRevocationList accessTokenRevocationList = mock(AccessTokenRevocationList.class);
+
+    private final UserPrincipal principal =
+            new UserPrincipal(1L, "email", null, 0, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private JwtTokenFilter jwtTokenFilter;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", SECRET_KEY);
+        ReflectionTestUtils.setField(jwtTokenProvider, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheSize", 100L);
+        ReflectionTestUtils.setField(jwtTokenProvider, "rejectedCacheSize", 100L);
+        jwtTokenProvider.init();
+
+        tokenVersionRegistry = new TokenVersionRegistry(userRepository);
+        ReflectionTestUtils.setField(tokenVersionRegistry, "cacheSize", 100L);
+        ReflectionTestUtils.setField(tokenVersionRegistry, "cacheTtl", 60_000L);
+        tokenVersionRegistry.init();
+
+        jwtTokenFilter = new JwtTokenFilter();
+        ReflectionTestUtils.setField(jwtTokenFilter, "customUserDetailsService", customUserDetailsService);
+        ReflectionTestUtils.setField(jwtTokenFilter, "jwtTokenProvider", jwtTokenProvider);
+        ReflectionTestUtils.setField(jwtTokenFilter, "tokenVersionRegistry", tokenVersionRegistry);
+        ReflectionTestUtils.setField(jwtTokenFilter, "accessTokenRevocationList", accessTokenRevocationList);
+        ReflectionTestUtils.setField(jwtTokenFilter, "stateless", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilter_Stateless_AuthenticatedFromClaimsAlone() throws Exception {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0));
+
+        Authentication authentication = filter(jwtTokenProvider.generateToken(principal));
+
+        assertNotNull(authentication);
+        UserPrincipal authenticated = (UserPrincipal) authentication.getPrincipal();
+        assertEquals(1L, authenticated.getId().longValue());
+        assertEquals("email", authenticated.getUsername());
+        assertNull(authenticated.getPassword());
+        assertEquals(List.of("ROLE_USER"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    void testDoFilter_VersionBumpedByUpdate_Rejected() throws Exception {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0), Optional.of(1));
+        String token = jwtTokenProvider.generateToken(principal);
+        assertNotNull(filter(token));
+        SecurityContextHolder.clearContext();
+
+        tokenVersionRegistry.onUserChanged(new UserChangedEvent(1L, "email"));
+
+        assertNull(filter(token));
+    }
+
+    @Test
+    void testDoFilter_UserDeleted_Rejected() throws Exception {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0), Optional.empty());
+        String token = jwtTokenProvider.generateToken(principal);
+        assertNotNull(filter(token));
+        SecurityContextHolder.clearContext();
+
+        tokenVersionRegistry.onUserChanged(new UserChangedEvent(1L, "email"));
+
+        assertNull(filter(token));
+    }
+
+    @Test
+    void testDoFilter_TokenWithoutIdentityClaims_Rejected() throws Exception {
+        String token = Jwts.builder()
+                .setSubject("email")
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .compact();
+
+        assertNull(filter(token));
+        verifyNoInteractions(userRepository, customUserDetailsService);
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        jwtTokenFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
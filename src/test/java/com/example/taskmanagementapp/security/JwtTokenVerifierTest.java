@@ -0,0 +1,95 @@
+package com.example.taskmanagementapp.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.*;
+
+public class JwtTokenVerifierTest {
+
+    private static final Key SIGNING_KEY =
+            Keys.hmacShaKeyFor("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    private static final Key OTHER_KEY =
+            Keys.hmacShaKeyFor("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+
+    private JwtParser jwtParser;
+
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @BeforeEach
+    void setUp() {
+        JwtParser parser = Jwts.parserBuilder().setSigningKey(SIGNING_KEY).setClock(() -> new Date(now.get())).build();
+        jwtParser = mock(JwtParser.class, delegatesTo(parser));
+        jwtTokenVerifier = new JwtTokenVerifier(jwtParser, 100, 100);
+    }
+
+    @Test
+    void testVerify_SameTokenTwice_ParsesOnceAndSharesImmutableToken() {
+        String token = token(SIGNING_KEY, null);
+
+        VerifiedToken first = jwtTokenVerifier.verify(token);
+        VerifiedToken second = jwtTokenVerifier.verify(token);
+
+        assertEquals("user@example.com", first.subject());
+        assertEquals(7L, first.userId().longValue());
+        assertEquals(List.of("ROLE_USER"), first.roles());
+        assertEquals(3, first.tokenVersion().intValue());
+        assertSame(first, second);
+        verify(jwtParser, times(1)).parseClaimsJws(token);
+        assertThrows(UnsupportedOperationException.class, () -> first.roles().add("ROLE_ADMIN"));
+    }
+
+    @Test
+    void testVerify_WrongSignature_RejectionIsCached() {
+        String token = token(OTHER_KEY, null);
+
+        assertNull(jwtTokenVerifier.verify(token));
+        assertNull(jwtTokenVerifier.verify(token));
+
+        verify(jwtParser, times(1)).parseClaimsJws(token);
+    }
+
+    @Test
+    void testVerify_NotValidYet_AcceptedOnceValid() {
+        String token = token(SIGNING_KEY, new Date(now.get() + 60_000));
+
+        assertNull(jwtTokenVerifier.verify(token));
+        now.addAndGet(120_000);
+
+        assertNotNull(jwtTokenVerifier.verify(token));
+        verify(jwtParser, times(2)).parseClaimsJws(token);
+    }
+
+    @Test
+    void testVerify_MalformedToken_ReturnNullWithoutParsing() {
+        assertNull(jwtTokenVerifier.verify("not-a-token"));
+
+        verifyNoInteractions(jwtParser);
+    }
+
+    private String token(Key key, Date notBefore) {
+        return Jwts.builder()
+                .setSubject("user@example.com")
+                .claim(VerifiedToken.USER_ID_CLAIM, 7L)
+                .claim(VerifiedToken.ROLES_CLAIM, List.of("ROLE_USER"))
+                .claim(VerifiedToken.TOKEN_VERSION_CLAIM, 3)
+                .setNotBefore(notBefore)
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(key)
+                .compact();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskmanagementapp.security.acl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AclIdentityCacheTest {
+
+    AclIdentityCache aclIdentityCache = new AclIdentityCache(100);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(aclIdentityCache);
+    }
+
+    @Test
+    void testGetSidPrimaryKey_OutsideTransaction_LoadOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals(7L, aclIdentityCache.getSidPrimaryKey(true, "test@gmail.com", () -> 7L + loads.getAndIncrement()));
+        assertEquals(7L, aclIdentityCache.getSidPrimaryKey(true, "test@gmail.com", () -> 7L + loads.getAndIncrement()));
+        assertEquals(1, loads.get());
+        assertNull(aclIdentityCache.getSidPrimaryKey(false, "test@gmail.com"));
+    }
+
+    @Test
+    void testGetSidPrimaryKey_WithMissingRow_NotCached() {
+        assertNull(aclIdentityCache.getSidPrimaryKey(true, "test@gmail.com", () -> null));
+        assertEquals(3L, aclIdentityCache.getSidPrimaryKey(true, "test@gmail.com", () -> 3L));
+    }
+
+    @Test
+    void testGetClassPrimaryKey_InCommittedTransaction_PublishOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        aclIdentityCache.getClassPrimaryKey("Workspace", () -> 5L);
+        assertEquals(5L, aclIdentityCache.getClassPrimaryKey("Workspace", () -> 6L));
+
+        completeTransaction(true);
+        assertEquals(5L, aclIdentityCache.getClassPrimaryKey("Workspace", () -> 6L));
+    }
+
+    @Test
+    void testPutSidPrimaryKey_InRolledBackTransaction_Discarded() {
+        TransactionSynchronizationManager.initSynchronization();
+        aclIdentityCache.putSidPrimaryKey(true, "test@gmail.com", 9L);
+        assertEquals(9L, aclIdentityCache.getSidPrimaryKey(true, "test@gmail.com"));
+
+        completeTransaction(false);
+        assertNull(aclIdentityCache.getSidPrimaryKey(true, "test@gmail.com"));
+    }
+
+    private void completeTransaction(boolean committed) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (committed) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(committed ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+    }
+}
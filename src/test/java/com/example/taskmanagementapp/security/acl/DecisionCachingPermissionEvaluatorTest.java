@@ -0,0 +1,123 @@
+package com.example.taskmanagementapp.security.acl;
+
+import com.example.taskmanagementapp.model.Task;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.Serializable;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class DecisionCachingPermissionEvaluatorTest {
+
+    private static final String WORKSPACE_TYPE = Workspace.class.getName();
+
+    private final PermissionEvaluator delegate = mock(PermissionEvaluator.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DecisionCachingPermissionEvaluator permissionEvaluator =
+            new DecisionCachingPermissionEvaluator(delegate, meterRegistry);
+
+    private Authentication authentication;
+
+    @BeforeEach
+    void setUp() {
+        UserPrincipal principal = new UserPrincipal(1L, "user@example.com", null, 0, List.of());
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        when(delegate.hasPermission(any(), any(Serializable.class), anyString(), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testHasPermission_SameWorkspaceWithinRequest_EvaluatesOnce() {
+        ServletRequestAttributes requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+
+        for (int i = 0; i < 500; i++) {
+            assertTrue(permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, "READ"));
+        }
+
+        verify(delegate, times(1)).hasPermission(authentication, 7L, WORKSPACE_TYPE, "READ");
+        assertEquals(499, meterRegistry.counter("acl.decision.cache", "result", "hit").count());
+
+        requestAttributes.requestCompleted();
+        assertEquals(499, meterRegistry.summary("acl.decision.cache.saved").totalAmount());
+    }
+
+    @Test
+    void testHasPermission_DifferentPermissionOrWorkspace_EvaluatesEach() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, "READ");
+        permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, "WRITE");
+        permissionEvaluator.hasPermission(authentication, 8L, WORKSPACE_TYPE, "READ");
+        permissionEvaluator.hasPermission(authentication, 7, WORKSPACE_TYPE, "READ");
+
+        verify(delegate, times(3)).hasPermission(any(), any(Serializable.class), anyString(), any());
+    }
+
+    @Test
+    void testHasPermission_TasksOfOneWorkspace_EvaluatesOnce() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Workspace workspace = Workspace.builder().id(7L).build();
+
+        for (long id = 1; id <= 200; id++) {
+            Task task = Task.builder().id(id).workspace(workspace).build();
+            assertTrue(permissionEvaluator.hasPermission(authentication, task, "READ"));
+        }
+
+        verify(delegate, times(1)).hasPermission(authentication, 7L, WORKSPACE_TYPE, "READ");
+        verify(delegate, never()).hasPermission(any(), any(Task.class), any());
+    }
+
+    @Test
+    void testHasPermission_SamePermissionSpelledDifferently_EvaluatesOnce() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, "READ");
+        permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, "read");
+        permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, BasePermission.READ);
+        permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, 1);
+
+        verify(delegate, times(1)).hasPermission(any(), any(Serializable.class), anyString(), any());
+    }
+
+    @Test
+    void testHasPermission_DeniedDecision_IsCachedToo() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(delegate.hasPermission(authentication, 7L, WORKSPACE_TYPE, "DELETE")).thenReturn(false);
+
+        assertFalse(permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, "DELETE"));
+        assertFalse(permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, "DELETE"));
+
+        verify(delegate, times(1)).hasPermission(authentication, 7L, WORKSPACE_TYPE, "DELETE");
+    }
+
+    @Test
+    void testHasPermission_OutsideRequest_AlwaysEvaluates() {
+        permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, "READ");
+        permissionEvaluator.hasPermission(authentication, 7L, WORKSPACE_TYPE, "READ");
+
+        verify(delegate, times(2)).hasPermission(authentication, 7L, WORKSPACE_TYPE, "READ");
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.taskmanagementapp.security.acl;
+
+import com.example.taskmanagementapp.model.Task;
+import com.example.taskmanagementapp.model.User;
+import com.example.taskmanagementapp.security.UserPrincipal;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.jdbc.JdbcMutableAclService;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@Testcontainers
+public class IndexingMutableAclServiceTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mySQLContainer = new MySQLContainer<>(
+            "mysql:8.0"
+    );
+
+    @Autowired
+    JdbcMutableAclService jdbcMutableAclService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    ObjectIdentity objectIdentity = new ObjectIdentityImpl(Task.class, 1L);
+
+    MutableAcl acl;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder().id(1L).email("test.test@gmail.com").password("pass").roles(List.of()).build();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(UserPrincipal.from(user), null));
+
+        acl = jdbcMutableAclService.createAcl(objectIdentity);
+        acl.insertAce(0, BasePermission.READ, new PrincipalSid("first@gmail.com"), true);
+        acl.insertAce(1, BasePermission.READ, new PrincipalSid("second@gmail.com"), true);
+        acl.insertAce(2, BasePermission.READ, new PrincipalSid("third@gmail.com"), true);
+        acl = jdbcMutableAclService.updateAcl(acl);
+    }
+
+    @Test
+    void testUpdateAcl_WithAppendedEntry_KeepsExistingRows() {
+        List<Long> idsBefore = entryIds();
+        acl.insertAce(acl.getEntries().size(), BasePermission.READ, new PrincipalSid("fourth@gmail.com"), true);
+        MutableAcl updatedAcl = jdbcMutableAclService.updateAcl(acl);
+
+        List<Long> idsAfter = entryIds();
+        assertEquals(4, idsAfter.size());
+        assertEquals(idsBefore, idsAfter.subList(0, 3));
+        assertEquals(new PrincipalSid("fourth@gmail.com"), updatedAcl.getEntries().get(3).getSid());
+    }
+
+    @Test
+    void testUpdateAcl_WithRemovedAndPrependedEntries_RenumbersOrder() {
+        acl.deleteAce(1);
+        acl.insertAce(0, BasePermission.WRITE, new PrincipalSid("fourth@gmail.com"), false);
+        acl.updateAce(2, BasePermission.DELETE);
+        MutableAcl updatedAcl = jdbcMutableAclService.updateAcl(acl);
+
+        List<AccessControlEntry> entries = updatedAcl.getEntries();
+        assertEquals(3, entries.size());
+        assertEquals(new PrincipalSid("fourth@gmail.com"), entries.get(0).getSid());
+        assertFalse(entries.get(0).isGranting());
+        assertEquals(new PrincipalSid("first@gmail.com"), entries.get(1).getSid());
+        assertEquals(new PrincipalSid("third@gmail.com"), entries.get(2).getSid());
+        assertEquals(BasePermission.DELETE, entries.get(2).getPermission());
+        assertEquals(List.of(0, 1, 2), jdbcTemplate.queryForList(
+                "SELECT ace_order FROM acl_entry WHERE acl_object_identity = ? ORDER BY ace_order", Integer.class, acl.getId()));
+    }
+
+    @Test
+    void testCreateAcl_WithKnownSid_ReuseCachedPrimaryKey() {
+        Long sidId = jdbcTemplate.queryForObject("SELECT id FROM acl_sid WHERE principal = TRUE AND sid = ?",
+                Long.class, "first@gmail.com");
+        // the row can no longer be found by name, only the cache still knows its key
+        jdbcTemplate.update("UPDATE acl_sid SET sid = 'renamed@gmail.com' WHERE id = ?", sidId);
+
+        MutableAcl otherAcl = jdbcMutableAclService.createAcl(new ObjectIdentityImpl(Task.class, 2L));
+        otherAcl.insertAce(0, BasePermission.READ, new PrincipalSid("first@gmail.com"), true);
+        jdbcMutableAclService.updateAcl(otherAcl);
+
+        assertEquals(sidId, jdbcTemplate.queryForObject("SELECT sid FROM acl_entry WHERE acl_object_identity = ?",
+                Long.class, otherAcl.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM acl_sid WHERE sid = 'first@gmail.com'",
+                Integer.class));
+    }
+
+    private List<Long> entryIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM acl_entry WHERE acl_object_identity = ? ORDER BY ace_order",
+                Long.class, acl.getId());
+    }
+}
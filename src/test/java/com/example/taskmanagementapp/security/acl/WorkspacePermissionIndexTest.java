@@ -0,0 +1,212 @@
+package com.example.taskmanagementapp.security.acl;
+
+import com.example.taskmanagementapp.model.Organization;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.acls.domain.BasePermission;
+import org.springframework.security.acls.domain.CumulativePermission;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.domain.PrincipalSid;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class WorkspacePermissionIndexTest {
+
+    private static final long USER_ID = 1L;
+
+    private static final String EMAIL = "user@example.com";
+
+    private static final int READ = BasePermission.READ.getMask();
+
+    private static final int WRITE = BasePermission.WRITE.getMask();
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final WorkspacePermissionIndex workspacePermissionIndex =
+            new WorkspacePermissionIndex(jdbcTemplate, userRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findIdsByEmails(any())).thenReturn(List.<Object[]>of(new Object[]{USER_ID, EMAIL}));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(workspacePermissionIndex);
+    }
+
+    @Test
+    void testGetMask_BeforeLoad_ReturnUnknown() {
+        assertEquals(WorkspacePermissionIndex.UNKNOWN, workspacePermissionIndex.getMask(USER_ID, 7L));
+    }
+
+    @Test
+    void testUpdate_SeveralGrantingEntries_FoldIntoOneMask() {
+        workspacePermissionIndex.load();
+
+        workspacePermissionIndex.update(acl(workspace(7L), null,
+                entry(new PrincipalSid(EMAIL), BasePermission.READ, true),
+                entry(new PrincipalSid(EMAIL), BasePermission.WRITE, true)));
+
+        assertEquals(READ | WRITE, workspacePermissionIndex.getMask(USER_ID, 7L));
+        assertEquals(0, workspacePermissionIndex.getMask(2L, 7L));
+    }
+
+    @Test
+    void testUpdate_DenyBeforeGrant_FirstEntryDecidesEachBit() {
+        workspacePermissionIndex.load();
+
+        workspacePermissionIndex.update(acl(workspace(7L), null,
+                entry(new PrincipalSid(EMAIL), BasePermission.WRITE, false),
+                entry(new PrincipalSid(EMAIL), new CumulativePermission().set(BasePermission.READ)
+                        .set(BasePermission.WRITE), true)));
+        workspacePermissionIndex.update(acl(workspace(8L), null,
+                entry(new PrincipalSid(EMAIL), BasePermission.READ, true),
+                entry(new PrincipalSid(EMAIL), BasePermission.READ, false)));
+
+        assertEquals(READ, workspacePermissionIndex.getMask(USER_ID, 7L));
+        assertEquals(READ, workspacePermissionIndex.getMask(USER_ID, 8L));
+    }
+
+    @Test
+    void testUpdate_UndecidedBits_InheritedFromOrganization() {
+        workspacePermissionIndex.load();
+        Acl organizationAcl = acl(new ObjectIdentityImpl(Organization.class, 3L), null,
+                entry(new PrincipalSid(EMAIL), new CumulativePermission().set(BasePermission.READ)
+                        .set(BasePermission.WRITE), true));
+        workspacePermissionIndex.update(organizationAcl);
+
+        workspacePermissionIndex.update(acl(workspace(7L), organizationAcl,
+                entry(new PrincipalSid(EMAIL), BasePermission.WRITE, false)));
+
+        assertEquals(READ, workspacePermissionIndex.getMask(USER_ID, 7L));
+        assertEquals(READ | WRITE, workspacePermissionIndex.getOrganizationMask(USER_ID, 3L));
+    }
+
+    @Test
+    void testUpdate_EntryForOtherAuthority_MarksWorkspaceUnresolvedUntilRemoved() {
+        workspacePermissionIndex.load();
+
+        workspacePermissionIndex.update(acl(workspace(7L), null,
+                entry(new PrincipalSid(EMAIL), BasePermission.READ, true),
+                entry(new GrantedAuthoritySid("ROLE_ADMIN"), BasePermission.WRITE, true)));
+
+        assertEquals(WorkspacePermissionIndex.UNKNOWN, workspacePermissionIndex.getMask(USER_ID, 7L));
+        assertEquals(WorkspacePermissionIndex.UNKNOWN, workspacePermissionIndex.getMask(2L, 7L));
+
+        workspacePermissionIndex.remove(workspace(7L));
+
+        assertEquals(0, workspacePermissionIndex.getMask(USER_ID, 7L));
+    }
+
+    @Test
+    void testUpdate_WithinTransaction_VisibleToOthersOnlyAfterCommit() throws Exception {
+        workspacePermissionIndex.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        workspacePermissionIndex.update(acl(workspace(7L), null,
+                entry(new PrincipalSid(EMAIL), BasePermission.READ, true)));
+
+        assertEquals(READ, workspacePermissionIndex.getMask(USER_ID, 7L));
+        assertEquals(0, maskFromOtherThread(7L));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(READ, workspacePermissionIndex.getMask(USER_ID, 7L));
+        assertEquals(READ, maskFromOtherThread(7L));
+    }
+
+    @Test
+    void testUpdate_RolledBack_NeverVisible() throws Exception {
+        workspacePermissionIndex.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        workspacePermissionIndex.update(acl(workspace(7L), null,
+                entry(new PrincipalSid(EMAIL), BasePermission.READ, true)));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(0, workspacePermissionIndex.getMask(USER_ID, 7L));
+        assertEquals(0, maskFromOtherThread(7L));
+    }
+
+    @Test
+    void testUpdate_PublishedDuringLoad_AppliedOnTopOfLoadedState() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            scanning.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        CompletableFuture<Void> load = CompletableFuture.runAsync(workspacePermissionIndex::load);
+        assertTrue(scanning.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> workspacePermissionIndex.update(
+                acl(workspace(7L), null, entry(new PrincipalSid(EMAIL), BasePermission.READ, true))));
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+        write.get(5, TimeUnit.SECONDS);
+
+        assertEquals(READ, workspacePermissionIndex.getMask(USER_ID, 7L));
+    }
+
+    private int maskFromOtherThread(long workspaceId) throws Exception {
+        return CompletableFuture.supplyAsync(() -> workspacePermissionIndex.getMask(USER_ID, workspaceId)).get();
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static ObjectIdentity workspace(long id) {
+        return new ObjectIdentityImpl(Workspace.class, id);
+    }
+
+    private static Acl acl(ObjectIdentity objectIdentity, Acl parentAcl, AccessControlEntry... entries) {
+        Acl acl = mock(Acl.class);
+        when(acl.getObjectIdentity()).thenReturn(objectIdentity);
+        when(acl.getEntries()).thenReturn(List.of(entries));
+        when(acl.getParentAcl()).thenReturn(parentAcl);
+        when(acl.isEntriesInheriting()).thenReturn(parentAcl != null);
+        return acl;
+    }
+
+    private static AccessControlEntry entry(Sid sid, Permission permission, boolean granting) {
+        AccessControlEntry entry = mock(AccessControlEntry.class);
+        when(entry.getSid()).thenReturn(sid);
+        when(entry.getPermission()).thenReturn(permission);
+        when(entry.isGranting()).thenReturn(granting);
+        return entry;
+    }
+}
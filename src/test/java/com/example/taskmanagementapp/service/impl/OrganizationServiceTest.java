@@ -0,0 +1,181 @@
+package com.example.taskmanagementapp.service.impl;
+
+import com.example.taskmanagementapp.exception.OrganizationNotFoundException;
+import com.example.taskmanagementapp.exception.WorkspaceNotFoundException;
+import com.example.taskmanagementapp.model.Organization;
+import com.example.taskmanagementapp.model.Role;
+import com.example.taskmanagementapp.model.User;
+import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.repository.OrganizationRepository;
+import com.example.taskmanagementapp.repository.WorkspaceRepository;
+import com.example.taskmanagementapp.security.UserPrincipal;
+import com.example.taskmanagementapp.service.UserService;
+import com.example.taskmanagementapp.service.WorkspaceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.acls.domain.*;
+import org.springframework.security.acls.jdbc.JdbcMutableAclService;
+import org.springframework.security.acls.model.AccessControlEntry;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrganizationServiceTest {
+
+    @Mock
+    OrganizationRepository organizationRepository;
+
+    @Mock
+    WorkspaceRepository workspaceRepository;
+
+    @Mock
+    WorkspaceService workspaceService;
+
+    @Mock
+    UserService userService;
+
+    @Mock
+    JdbcMutableAclService jdbcMutableAclService;
+
+    @InjectMocks
+    OrganizationServiceImpl organizationService;
+
+    static final String ORGANIZATION_NOT_FOUND_EXCEPTION_MESSAGE = "Organization with %d ID was not found!";
+
+    Organization organization;
+
+    Workspace workspace;
+
+    User user;
+
+    MutableAcl organizationAcl;
+
+    MutableAcl workspaceAcl;
+
+    @BeforeEach
+    void setUp() {
+        organization = Organization.builder().id(1L).name("organization").build();
+        workspace = Workspace.builder().id(2L).name("workspace").build();
+        user = User
+                .builder()
+                .id(1L)
+                .email("test.test@gmail.com")
+                .password("pass")
+                .roles(List.of(new Role(1L, "ROLE_ADMIN"))).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(UserPrincipal.from(user), null, "ROLE_ADMIN"));
+
+        AclAuthorizationStrategyImpl aclAuthorizationStrategy =
+                new AclAuthorizationStrategyImpl(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        organizationAcl = new AclImpl(new ObjectIdentityImpl(organization), 1L, aclAuthorizationStrategy,
+                new ConsoleAuditLogger());
+        workspaceAcl = new AclImpl(new ObjectIdentityImpl(workspace), 2L, aclAuthorizationStrategy,
+                new ConsoleAuditLogger());
+    }
+
+    @Test
+    void testSave_WithValidOrganization_GrantCreatorEverything() {
+        when(organizationRepository.save(organization)).thenReturn(organization);
+        when(jdbcMutableAclService.createAcl(new ObjectIdentityImpl(organization))).thenReturn(organizationAcl);
+
+        Organization savedOrganization = organizationService.save(organization);
+
+        assertSame(organization, savedOrganization);
+        assertEquals(List.of(BasePermission.READ, BasePermission.CREATE, BasePermission.WRITE, BasePermission.DELETE,
+                        BasePermission.ADMINISTRATION),
+                organizationAcl.getEntries().stream().map(AccessControlEntry::getPermission).toList());
+        assertTrue(organizationAcl.getEntries().stream()
+                .allMatch(entry -> entry.getSid().equals(new PrincipalSid(user.getEmail()))));
+        verify(jdbcMutableAclService).updateAcl(organizationAcl);
+    }
+
+    @Test
+    void testFindById_WithInvalidId_ThrowOrganizationNotFoundException() {
+        when(organizationRepository.findById(1L)).thenReturn(Optional.empty());
+        RuntimeException exception = assertThrows(OrganizationNotFoundException.class,
+                () -> organizationService.findById(1L));
+        assertEquals(String.format(ORGANIZATION_NOT_FOUND_EXCEPTION_MESSAGE, 1L), exception.getMessage());
+    }
+
+    @Test
+    void testAddWorkspace_WithValidIds_InheritOrganizationAcl() {
+        when(organizationRepository.findById(1L)).thenReturn(Optional.of(organization));
+        when(workspaceService.findById(2L)).thenReturn(workspace);
+        when(jdbcMutableAclService.readAclById(new ObjectIdentityImpl(workspace))).thenReturn(workspaceAcl);
+        when(jdbcMutableAclService.readAclById(new ObjectIdentityImpl(organization))).thenReturn(organizationAcl);
+        when(workspaceRepository.save(workspace)).thenReturn(workspace);
+
+        Workspace savedWorkspace = organizationService.addWorkspace(1L, 2L);
+
+        assertSame(organization, savedWorkspace.getOrganization());
+        assertSame(organizationAcl, workspaceAcl.getParentAcl());
+        assertTrue(workspaceAcl.isEntriesInheriting());
+        verify(jdbcMutableAclService).updateAcl(workspaceAcl);
+        verify(jdbcMutableAclService, never()).updateAcl(organizationAcl);
+    }
+
+    @Test
+    void testRemoveWorkspace_WithWorkspaceOfOtherOrganization_ThrowWorkspaceNotFoundException() {
+        workspace.setOrganization(Organization.builder().id(3L).build());
+        when(organizationRepository.findById(1L)).thenReturn(Optional.of(organization));
+        when(workspaceService.findById(2L)).thenReturn(workspace);
+
+        assertThrows(WorkspaceNotFoundException.class, () -> organizationService.removeWorkspace(1L, 2L));
+        verify(jdbcMutableAclService, never()).updateAcl(any());
+    }
+
+    @Test
+    void testAddPermissionsForUserInOrganization_WithValidData_UpdateOrganizationAclOnce() {
+        User member = User.builder().id(2L).email("member.test@gmail.com").build();
+        when(organizationRepository.findById(1L)).thenReturn(Optional.of(organization));
+        when(userService.findById(2L)).thenReturn(member);
+        when(jdbcMutableAclService.readAclById(new ObjectIdentityImpl(organization))).thenReturn(organizationAcl);
+
+        organizationService.addPermissionsForUserInOrganization(1L, 2L, List.of("READ", "WRITE", "READ"));
+
+        assertEquals(2, organizationAcl.getEntries().size());
+        assertEquals(BasePermission.READ, organizationAcl.getEntries().get(0).getPermission());
+        verify(jdbcMutableAclService, times(1)).updateAcl(organizationAcl);
+    }
+
+    @Test
+    void testRemovePermissionsForUserInOrganization_FromCreator_DeleteOnlyThosePermissions() {
+        when(organizationRepository.save(organization)).thenReturn(organization);
+        when(jdbcMutableAclService.createAcl(new ObjectIdentityImpl(organization))).thenReturn(organizationAcl);
+        organizationService.save(organization);
+        when(organizationRepository.findById(1L)).thenReturn(Optional.of(organization));
+        when(userService.findById(1L)).thenReturn(user);
+        when(jdbcMutableAclService.readAclById(new ObjectIdentityImpl(organization))).thenReturn(organizationAcl);
+
+        organizationService.removePermissionsForUserInOrganization(1L, 1L, List.of("READ", "ADMIN"));
+
+        assertEquals(List.of(BasePermission.CREATE, BasePermission.WRITE, BasePermission.DELETE),
+                organizationAcl.getEntries().stream().map(AccessControlEntry::getPermission).toList());
+    }
+
+    @Test
+    void testAddPermissionsForUserInOrganization_ToCreator_AddNothingTwice() {
+        when(organizationRepository.save(organization)).thenReturn(organization);
+        when(jdbcMutableAclService.createAcl(new ObjectIdentityImpl(organization))).thenReturn(organizationAcl);
+        organizationService.save(organization);
+        when(organizationRepository.findById(1L)).thenReturn(Optional.of(organization));
+        when(userService.findById(1L)).thenReturn(user);
+        when(jdbcMutableAclService.readAclById(new ObjectIdentityImpl(organization))).thenReturn(organizationAcl);
+
+        organizationService.addPermissionsForUserInOrganization(1L, 1L, List.of("READ", "WRITE"));
+
+        assertEquals(5, organizationAcl.getEntries().size());
+    }
+}
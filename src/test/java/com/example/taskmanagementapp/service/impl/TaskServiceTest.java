@@ -1,27 +1,38 @@
 package com.example.taskmanagementapp.service.impl;
 
+import com.example.taskmanagementapp.exception.InvalidCursorException;
 import com.example.taskmanagementapp.exception.TaskNotFoundException;
 import com.example.taskmanagementapp.exception.UserNotFoundException;
+import com.example.taskmanagementapp.exception.UserNotInWorkspaceException;
 import com.example.taskmanagementapp.model.Task;
 import com.example.taskmanagementapp.model.User;
 import com.example.taskmanagementapp.model.Workspace;
 import com.example.taskmanagementapp.repository.TaskRepository;
 import com.example.taskmanagementapp.repository.UserRepository;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipIndex;
+import com.example.taskmanagementapp.security.UserPrincipal;
 import com.example.taskmanagementapp.service.UserService;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class TaskServiceTest {
@@ -38,6 +49,12 @@ public class TaskServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private WorkspaceMembershipIndex membershipIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
     private Task task;
 
     private Workspace workspace;
@@ -96,6 +113,18 @@ public class TaskServiceTest {
     }
 
 
+    @Test
+    void testFindWorkspaceIdByTaskId_ReturnWorkspaceId() {
+        when(taskRepository.findWorkspaceIdById(1L)).thenReturn(Optional.of(workspace.getId()));
+        assertEquals(workspace.getId(), taskService.findWorkspaceIdByTaskId(1L));
+    }
+
+    @Test
+    void testFindWorkspaceIdByTaskId_NotFoundThrowTaskNotFoundException() {
+        when(taskRepository.findWorkspaceIdById(1L)).thenReturn(Optional.empty());
+        assertThrows(TaskNotFoundException.class, () -> taskService.findWorkspaceIdByTaskId(1L));
+    }
+
     @Test
     void testFindById_NotFoundThrowTaskNotFoundException() {
         when(taskRepository.findById(1L)).thenReturn(Optional.empty());
@@ -107,13 +136,34 @@ public class TaskServiceTest {
     @Test
     void testFindAll_ReturnAllTasks() {
         Task task2 = Task.builder().title("title2").content("content2").build();
-        when(taskRepository.findAll()).thenReturn(List.of(task, task2));
+        authenticate(user);
+        when(taskRepository.findByCreator(user.getId(), 0L, null, null, null, Pageable.unpaged()))
+                .thenReturn(List.of(task, task2));
         List<Task> foundTasks = taskService.findAll();
 
         assertNotNull(foundTasks);
         assertEquals(2, foundTasks.size());
     }
 
+    @Test
+    void testFindCreatedTasks_WithCursor_ReadInIdOrder() {
+        authenticate(user);
+        when(taskRepository.findByCreator(user.getId(), 1L, "to do", null, null,
+                PageRequest.of(0, 10, Sort.by("id")))).thenReturn(List.of(task));
+        List<Task> foundTasks = taskService.findCreatedTasks("to do", null, null, 1L,
+                PageRequest.of(2, 10, Sort.by("id").and(Sort.by("id"))));
+
+        assertEquals(1, foundTasks.size());
+    }
+
+    @Test
+    void testFindCreatedTasks_WithCursorAndOtherSort_ThrowException() {
+        authenticate(user);
+        assertThrows(InvalidCursorException.class, () -> taskService.findCreatedTasks("to do", null, null, 1L,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "deadlineDate"))));
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void testUpdateTask_WithValidData_UpdateSuccessfully() {
         Task task2 = Task.builder().title("title2").content("content2").build();
@@ -160,24 +210,28 @@ public class TaskServiceTest {
     }
 
     @Test
-    void testAddPerformersToTask_WithValidData_AddPerformerToTaskSuccessfully() {
+    void testAddPerformersToTask_WithValidData_InsertMembersAtOnce() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(task)).thenReturn(task);
-        when(userService.findById(1L)).thenReturn(user);
-        when(userService.findById(2L)).thenReturn(user2);
+        when(membershipIndex.findMemberIds(1L, List.of(1L, 2L))).thenReturn(Set.of(1L, 2L));
+        when(taskRepository.addPerformers(1L, Set.of(1L, 2L))).thenReturn(2);
         Task updatedTaskTest = taskService.addPerformersToTask(1L, List.of(1L, 2L));
 
         assertNotNull(updatedTaskTest);
-        assertEquals(2, updatedTaskTest.getPerformers().size());
+        verify(taskRepository, times(1)).addPerformers(1L, Set.of(1L, 2L));
+        verify(entityManager, times(1)).refresh(task);
+        verify(taskRepository, never()).save(any());
+        verifyNoInteractions(userService);
     }
 
     @Test
     void testAddPerformersToTask_UserNotFound_ThrowUserNotFoundException() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(membershipIndex.findMemberIds(1L, List.of(1L, 2L))).thenReturn(Set.of(2L));
         when(userService.findById(1L)).thenThrow(new UserNotFoundException("User with 1 ID was not found!"));
         RuntimeException exception = assertThrows(UserNotFoundException.class,
                 () -> taskService.addPerformersToTask(1L, List.of(1L, 2L)));
         assertEquals("User with 1 ID was not found!", exception.getMessage());
+        verify(taskRepository, never()).addPerformers(anyLong(), anyCollection());
     }
 
     @Test
@@ -189,33 +243,47 @@ public class TaskServiceTest {
     }
 
     @Test
-    void testAddPerformersToTask_UsersNotInWorkspace_ThrowRuntimeException() {
-        user.setWorkspaces(List.of());
+    void testAddPerformersToTask_UsersNotInWorkspace_ThrowUserNotInWorkspaceException() {
+        user.setEmail("test.test@gmail.com");
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(membershipIndex.findMemberIds(1L, List.of(1L))).thenReturn(Set.of());
         when(userService.findById(1L)).thenReturn(user);
-        assertThrows(RuntimeException.class,
+        RuntimeException exception = assertThrows(UserNotInWorkspaceException.class,
                 () -> taskService.addPerformersToTask(1L, List.of(1L)));
+        assertEquals("User[test.test@gmail.com] not in workspace!", exception.getMessage());
+        verify(taskRepository, never()).addPerformers(anyLong(), anyCollection());
     }
 
     @Test
     void testRemovePerformerFromTask() {
-        task.getPerformers().add(user);
-        assertEquals(1, task.getPerformers().size());
+        when(taskRepository.removePerformer(1L, 1L)).thenReturn(1);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(task)).thenReturn(task);
-        when(userService.findById(1L)).thenReturn(user);
         Task updatedTask = taskService.removePerformerFromTask(1L, 1L);
         assertNotNull(updatedTask);
-        assertEquals(0, updatedTask.getPerformers().size());
+        verify(entityManager, times(1)).refresh(task);
+        verify(taskRepository, never()).save(any());
+        verifyNoInteractions(userService);
+    }
 
+    @Test
+    void testRemovePerformerFromTask_UserNotPerformer_ThrowUserNotInWorkspaceException() {
+        when(taskRepository.removePerformer(1L, 1L)).thenReturn(0);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userService.findById(1L)).thenReturn(user);
+        assertThrows(UserNotInWorkspaceException.class, () -> taskService.removePerformerFromTask(1L, 1L));
     }
 
     @Test
     void testRemovePerformerFromTask_TaskNotFound_ThrowTaskNotFoundException() {
+        when(taskRepository.removePerformer(1L, 1L)).thenReturn(0);
         when(taskRepository.findById(1L)).thenReturn(Optional.empty());
         RuntimeException exception = assertThrows(TaskNotFoundException.class,
                 () -> taskService.removePerformerFromTask(1L, 1L));
+        assertEquals("Task with 1 ID was not found!", exception.getMessage());
     }
 
-
+    private void authenticate(User user) {
+        UserPrincipal principal = new UserPrincipal(user.getId(), "test.test@gmail.com", null, 0, List.of());
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(principal, null));
+    }
 }
@@ -1,25 +1,35 @@
 package com.example.taskmanagementapp.service.impl;
 
+import com.example.taskmanagementapp.event.UserChangedEvent;
 import com.example.taskmanagementapp.exception.UserNotFoundException;
+import com.example.taskmanagementapp.model.Role;
 import com.example.taskmanagementapp.model.Task;
 import com.example.taskmanagementapp.model.User;
 import com.example.taskmanagementapp.model.Workspace;
 import com.example.taskmanagementapp.repository.TaskRepository;
 import com.example.taskmanagementapp.repository.UserRepository;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipIndex;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipRepository;
 import com.example.taskmanagementapp.repository.WorkspaceRepository;
+import com.example.taskmanagementapp.security.RefreshTokenProvider;
+import com.example.taskmanagementapp.security.acl.WorkspacePermissionIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 public class UserServiceTest {
 
@@ -32,6 +42,20 @@ public class UserServiceTest {
     @Mock
     private WorkspaceRepository workspaceRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private WorkspaceMembershipIndex membershipIndex;
+
+    @Mock
+    private RefreshTokenProvider refreshTokenProvider;
+
+    @Mock
+    private WorkspaceMembershipRepository membershipRepository;
+
+    @Mock
+    private WorkspacePermissionIndex workspacePermissionIndex;
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -113,6 +137,47 @@ public class UserServiceTest {
         assertEquals("firstNameUpd", updatedUser.getFirstName());
     }
 
+    @Test
+    void testUpdateUser_WithProfileChangeOnly_KeepTokenVersionAndPublishEvent() {
+        User user1 = User.builder().firstName("firstNameUpd").build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        User updatedUser = userService.update(user1, 1L);
+
+        assertEquals(0, updatedUser.getTokenVersion());
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+        verify(refreshTokenProvider, never()).expireAllRefreshTokens(any());
+    }
+
+    @Test
+    void testUpdateUser_WithPasswordChange_IncrementTokenVersion() {
+        User user1 = User.builder().password("passwordUpd").build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        User updatedUser = userService.update(user1, 1L);
+
+        assertEquals(1, updatedUser.getTokenVersion());
+        verify(refreshTokenProvider).expireAllRefreshTokens(1L);
+    }
+
+    @Test
+    void testUpdateUser_WithRoleChange_IncrementTokenVersion() {
+        user.setRoles(new ArrayList<>(List.of(new Role(1L, "ROLE_USER"))));
+        User user1 = User.builder().roles(List.of(new Role(2L, "ROLE_ADMIN"))).build();
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        User updatedUser = userService.update(user1, 1L);
+
+        assertEquals(1, updatedUser.getTokenVersion());
+        verify(refreshTokenProvider).expireAllRefreshTokens(1L);
+    }
+
     @Test
     void testUpdateUser_ThrowException() {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
@@ -125,13 +190,26 @@ public class UserServiceTest {
     @Test
     void testDeleteById_WithValidId_DeleteSuccessfully() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(membershipRepository.deleteUserRoles(1L)).thenReturn(List.of(1L));
         User deletedUser = userService.deleteById(1L);
         assertNotNull(deletedUser);
+        verify(membershipIndex).removeUser(1L);
+        verify(workspacePermissionIndex).refresh(1L);
         assertEquals("email", deletedUser.getEmail());
         assertEquals("firstName", deletedUser.getFirstName());
         assertEquals("lastName", deletedUser.getLastName());
     }
 
+    @Test
+    void testFindIdsByEmails_MixedCaseEmail_FoundUnderRequestedSpelling() {
+        when(userRepository.findIdsByEmails(List.of("Email@Example.com")))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, "email@example.com"}));
+
+        Map<String, Long> ids = userService.findIdsByEmails(List.of("Email@Example.com"));
+
+        assertEquals(1L, ids.get("Email@Example.com"));
+    }
+
     @Test
     void testDeleteById_ThrowException() {
         when(userRepository.findById(1L)).thenReturn(Optional.empty());
@@ -186,7 +264,8 @@ public class UserServiceTest {
     void testFindUsersByWorkspaceId_WithValidWorkspaceId_ReturnValidUsers() {
         user.setWorkspaces(List.of(Workspace.builder().id(1L).name("workspace").build()));
         when(workspaceRepository.existsById(1L)).thenReturn(true);
-        when(userRepository.findUsersByWorkspacesId(1L)).thenReturn(List.of(user));
+        when(membershipIndex.findMemberIds(1L)).thenReturn(Set.of(1L));
+        when(userRepository.findAllById(Set.of(1L))).thenReturn(List.of(user));
         List<User> foundUsers = userService.findUsersByWorkspacesId(1L);
 
         assertNotNull(foundUsers);
@@ -194,19 +273,5 @@ public class UserServiceTest {
         assertEquals("email", foundUsers.get(0).getEmail());
     }
 
-    @Test
-    void testExistsByEmailAndWorkspacesId_WithUserExists_ReturnTrue() {
-        when(userRepository.existsByEmailAndWorkspacesId(user.getEmail(), 1L)).thenReturn(true);
-        Boolean result = userService.existsByEmailAndWorkspacesId(user.getEmail(), 1L);
-        assertTrue(result);
-    }
-
-    @Test
-    void testExistsByEmailAndWorkspacesId_WithUserDoesntExists_ReturnFalse() {
-        when(userRepository.existsByEmailAndWorkspacesId(user.getEmail(), 1L)).thenReturn(false);
-        Boolean result = userService.existsByEmailAndWorkspacesId(user.getEmail(), 1L);
-        assertFalse(result);
-    }
-
 
 }
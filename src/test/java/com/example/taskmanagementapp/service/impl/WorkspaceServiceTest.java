@@ -1,19 +1,30 @@
 package com.example.taskmanagementapp.service.impl;
 
+import com.example.taskmanagementapp.dto.MembershipImportRequestDTO;
+import com.example.taskmanagementapp.dto.MembershipImportResultDTO;
+import com.example.taskmanagementapp.exception.UserNotFoundException;
 import com.example.taskmanagementapp.exception.UserNotInWorkspaceException;
 import com.example.taskmanagementapp.exception.WorkspaceNotFoundException;
+import com.example.taskmanagementapp.model.Organization;
 import com.example.taskmanagementapp.model.Role;
 import com.example.taskmanagementapp.model.Task;
 import com.example.taskmanagementapp.model.User;
 import com.example.taskmanagementapp.model.Workspace;
+import com.example.taskmanagementapp.model.WorkspaceRole;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipIndex;
+import com.example.taskmanagementapp.repository.WorkspaceMembershipRepository;
 import com.example.taskmanagementapp.repository.WorkspaceRepository;
 import com.example.taskmanagementapp.service.UserService;
+import com.example.taskmanagementapp.security.UserPrincipal;
+import com.example.taskmanagementapp.security.acl.WorkspacePermissionIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.acls.domain.*;
 import org.springframework.security.acls.jdbc.JdbcMutableAclService;
 import org.springframework.security.acls.model.MutableAcl;
@@ -24,8 +35,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -45,6 +60,15 @@ public class WorkspaceServiceTest {
     @Mock
     UserService userService;
 
+    @Mock
+    WorkspaceMembershipRepository membershipRepository;
+
+    @Mock
+    WorkspacePermissionIndex workspacePermissionIndex;
+
+    @Mock
+    WorkspaceMembershipIndex membershipIndex;
+
     Workspace workspace;
 
     static final String WORKSPACE_NOT_FOUND_EXCEPTION_MESSAGE = "Workspace with %d ID was not found!";
@@ -78,7 +102,7 @@ public class WorkspaceServiceTest {
                 .workspaces(new ArrayList<>())
                 .roles(List.of(new Role(1L, "ROLE_ADMIN"))).build();
 
-        authentication = new TestingAuthenticationToken(user, null, "ROLE_ADMIN");
+        authentication = new TestingAuthenticationToken(UserPrincipal.from(user), null, "ROLE_ADMIN");
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -92,6 +116,7 @@ public class WorkspaceServiceTest {
         when(jdbcMutableAclService.createAcl(new ObjectIdentityImpl(workspace))).thenReturn(acl);
 
         when(workspaceRepository.save(workspace)).thenReturn(workspace);
+        when(userService.getReferenceById(user.getId())).thenReturn(user);
 
         Workspace savedWorkspace = workspaceService.save(workspace);
 
@@ -103,6 +128,12 @@ public class WorkspaceServiceTest {
         assertEquals("workspace", savedWorkspace.getName());
         assertEquals(1, savedWorkspace.getTasks().size());
         assertEquals(1, savedWorkspace.getMembers().size());
+        verify(membershipRepository).saveRoles(1L, List.of(user.getId()), WorkspaceRole.ADMIN);
+        verify(membershipIndex).addMembers(1L, List.of(user.getId()));
+        assertEquals(WorkspaceRole.values().length, acl.getEntries().size());
+        assertEquals(WorkspaceRole.VIEWER.sid(1L), acl.getEntries().get(0).getSid());
+        assertEquals(WorkspaceRole.ADMIN.getPermission().getMask(), acl.getEntries().get(2).getPermission().getMask());
+        verify(jdbcMutableAclService).updateAcl(acl);
     }
 
     @Test
@@ -123,12 +154,23 @@ public class WorkspaceServiceTest {
     @Test
     void testFindAll_ReturnAllWorkspaces() {
         Workspace workspace2 = new Workspace();
-        when(workspaceRepository.findAll()).thenReturn(List.of(workspace, workspace2));
+        when(workspaceRepository.findReadableBySid(user.getEmail(), Workspace.class.getName(),
+                Organization.class.getName(), 0L, Pageable.unpaged()))
+                .thenReturn(List.of(workspace, workspace2));
         List<Workspace> foundWorkspaces = workspaceService.findAll();
         assertNotNull(foundWorkspaces);
         assertEquals(2, foundWorkspaces.size());
     }
 
+    @Test
+    void testFindReadable_WithCursor_QueryAfterCursor() {
+        when(workspaceRepository.findReadableBySid(user.getEmail(), Workspace.class.getName(),
+                Organization.class.getName(), 1L, PageRequest.of(0, 10)))
+                .thenReturn(List.of(workspace));
+        List<Workspace> foundWorkspaces = workspaceService.findReadable(1L, 3, 10);
+        assertEquals(1, foundWorkspaces.size());
+    }
+
     @Test
     void testUpdate_WithValidData_UpdateSuccessfully() {
         Workspace workspace2 = Workspace
@@ -162,6 +204,12 @@ public class WorkspaceServiceTest {
         Workspace deletedWorkspace = workspaceService.deleteById(1L);
         assertNotNull(deletedWorkspace);
         assertSame(workspace, deletedWorkspace);
+        verify(workspaceRepository).deleteById(1L);
+        verify(membershipRepository).deleteRoles(1L);
+        verify(jdbcMutableAclService).deleteAcl(new ObjectIdentityImpl(Workspace.class, 1L), true);
+        verify(membershipIndex).removeWorkspace(1L);
+        verify(workspacePermissionIndex).remove(new ObjectIdentityImpl(Workspace.class, 1L));
+        verify(workspacePermissionIndex, never()).refresh(anyLong());
     }
 
     @Test
@@ -174,16 +222,73 @@ public class WorkspaceServiceTest {
     @Test
     void testAddUsersToWorkspace_WithValidData_AddUsersToWorkspaceSuccessfully() {
         when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
-        when(userService.findById(1L)).thenReturn(user);
-        when(jdbcMutableAclService.readAclById(new ObjectIdentityImpl(workspace))).thenReturn(acl);
+        when(userService.findAllById(List.of(1L))).thenReturn(List.of(user));
         when(workspaceRepository.save(workspace)).thenReturn(workspace);
-        acl.getEntries().add(new AccessControlEntryImpl(1L, acl,
-                new PrincipalSid(user.getEmail()), BasePermission.ADMINISTRATION,
-                true, true, true));
 
         Workspace updatedWorkspace = workspaceService.addUsersToWorkspace(1L, List.of(1L));
         assertNotNull(updatedWorkspace);
         assertEquals(2, updatedWorkspace.getMembers().size());
+        verify(membershipRepository).saveRoles(1L, List.of(1L), WorkspaceRole.VIEWER);
+        verify(membershipIndex).addMembers(1L, List.of(1L));
+        verify(workspacePermissionIndex).refresh(1L);
+        verify(jdbcMutableAclService, never()).updateAcl(any());
+        verify(userService, never()).save(any());
+    }
+
+    @Test
+    void testAddUsersToWorkspace_WithUnknownUserId_ThrowUserNotFoundException() {
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(userService.findAllById(List.of(1L, 5L))).thenReturn(List.of(user));
+
+        RuntimeException exception = assertThrows(UserNotFoundException.class,
+                () -> workspaceService.addUsersToWorkspace(1L, List.of(1L, 5L)));
+        assertEquals("User with 5 ID was not found!", exception.getMessage());
+    }
+
+    @Test
+    void testImportMembers_WithMixedItems_ReturnPerItemResults() {
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(userService.findEmailsByIds(List.of(1L, 2L, 9L)))
+                .thenReturn(new HashMap<>(Map.of(1L, user.getEmail(), 2L, "member@gmail.com")));
+        when(userService.findIdsByEmails(List.of(user.getEmail(), "unknown@gmail.com")))
+                .thenReturn(new HashMap<>(Map.of(user.getEmail(), 1L)));
+        when(membershipIndex.findMemberIds(eq(1L), anyCollection())).thenReturn(Set.of(2L));
+
+        MembershipImportRequestDTO request = MembershipImportRequestDTO.builder()
+                .userIds(List.of(1L, 2L, 9L))
+                .emails(List.of(user.getEmail(), "unknown@gmail.com"))
+                .build();
+        List<MembershipImportResultDTO> results = workspaceService.importMembers(1L, request);
+
+        assertEquals(List.of(MembershipImportResultDTO.Status.ADDED, MembershipImportResultDTO.Status.ALREADY_MEMBER,
+                        MembershipImportResultDTO.Status.NOT_FOUND, MembershipImportResultDTO.Status.ALREADY_MEMBER,
+                        MembershipImportResultDTO.Status.NOT_FOUND),
+                results.stream().map(MembershipImportResultDTO::getStatus).toList());
+        verify(membershipRepository).insertMembers(1L, Set.of(1L), WorkspaceRole.VIEWER);
+        verify(membershipIndex).addMembers(1L, Set.of(1L));
+        verify(workspacePermissionIndex).refresh(1L);
+        verify(jdbcMutableAclService, never()).updateAcl(any());
+    }
+
+    @Test
+    void testImportMembers_WithMixedCaseEmail_AddExistingUser() {
+        String email = user.getEmail().toUpperCase();
+        Map<String, Long> idsByEmail = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        idsByEmail.put(user.getEmail(), 1L);
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(userService.findEmailsByIds(List.of())).thenReturn(new HashMap<>());
+        when(userService.findIdsByEmails(List.of(email))).thenReturn(idsByEmail);
+        when(membershipIndex.findMemberIds(eq(1L), anyCollection())).thenReturn(Set.of());
+
+        MembershipImportRequestDTO request = MembershipImportRequestDTO.builder()
+                .userIds(List.of())
+                .emails(List.of(email))
+                .build();
+        List<MembershipImportResultDTO> results = workspaceService.importMembers(1L, request);
+
+        assertEquals(MembershipImportResultDTO.Status.ADDED, results.get(0).getStatus());
+        assertEquals(1L, results.get(0).getUserId());
+        verify(membershipRepository).insertMembers(1L, Set.of(1L), WorkspaceRole.VIEWER);
     }
 
     @Test
@@ -206,6 +311,7 @@ public class WorkspaceServiceTest {
         when(jdbcMutableAclService.readAclById(new ObjectIdentityImpl(workspace))).thenReturn(acl);
         when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
         when(userService.findById(2L)).thenReturn(user2);
+        when(membershipIndex.isMember(2L, 1L)).thenReturn(true);
         when(workspaceRepository.save(workspace)).thenReturn(workspace);
         acl.getEntries().add(new AccessControlEntryImpl(1L, acl,
                 new PrincipalSid(user.getEmail()), BasePermission.ADMINISTRATION,
@@ -214,6 +320,8 @@ public class WorkspaceServiceTest {
         Workspace updatedWorkspace = workspaceService.removeUserFromWorkspace(1L, 2L);
         assertNotNull(updatedWorkspace);
         assertEquals(0, updatedWorkspace.getMembers().size());
+        verify(membershipRepository).deleteRole(1L, 2L);
+        verify(membershipIndex).removeMember(1L, 2L);
     }
 
     @Test
@@ -223,6 +331,26 @@ public class WorkspaceServiceTest {
                 ()->workspaceService.removeUserFromWorkspace(1L, 2L));
     }
 
+    @Test
+    void testChangeMemberRole_WithMember_SaveRole() {
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(membershipIndex.isMember(2L, 1L)).thenReturn(true);
+
+        workspaceService.changeMemberRole(1L, 2L, WorkspaceRole.EDITOR);
+
+        verify(membershipRepository).saveRoles(1L, List.of(2L), WorkspaceRole.EDITOR);
+        verify(workspacePermissionIndex).refresh(1L);
+        verify(jdbcMutableAclService, never()).updateAcl(any());
+    }
+
+    @Test
+    void testChangeMemberRole_WithUserNotInWorkspace_ThrowUserNotInWorkspaceException() {
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+
+        assertThrows(UserNotInWorkspaceException.class,
+                () -> workspaceService.changeMemberRole(1L, 5L, WorkspaceRole.EDITOR));
+        verify(membershipRepository, never()).saveRoles(anyLong(), anyCollection(), any());
+    }
 
     @Test
     void testFindByTasksId_WithValidTaskId_ReturnValidTask() {
@@ -0,0 +1,89 @@
+package com.example.taskmanagementapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressedBitmapTest {
+
+    @Test
+    void testWithAndWithout_LeaveOriginalUnchanged() {
+        CompressedBitmap bitmap = CompressedBitmap.of(1, 2, 3);
+
+        CompressedBitmap added = bitmap.with(70_000);
+        CompressedBitmap removed = bitmap.without(2);
+
+        assertTrue(added.contains(70_000));
+        assertFalse(removed.contains(2));
+        assertEquals(3, bitmap.cardinality());
+        assertTrue(bitmap.contains(2));
+        assertFalse(bitmap.contains(70_000));
+        assertSame(bitmap, bitmap.with(1));
+        assertSame(bitmap, bitmap.without(4));
+    }
+
+    @Test
+    void testOf_DuplicatesAndUnsignedValues_SortedAscending() {
+        CompressedBitmap bitmap = CompressedBitmap.of(-1, 5, 5, 65_536, 0);
+
+        assertArrayEquals(new int[]{0, 5, 65_536, -1}, bitmap.toArray());
+        assertEquals(4, bitmap.cardinality());
+    }
+
+    @Test
+    void testDenseChunk_SwitchesToBitmapAndBack() {
+        CompressedBitmap bitmap = CompressedBitmap.of(IntStream.range(0, 10_000).toArray());
+        CompressedBitmap odd = CompressedBitmap.of(IntStream.range(0, 10_000).filter(i -> i % 2 == 1).toArray());
+
+        for (int i = 0; i < 6_000; i++) {
+            bitmap = bitmap.without(i);
+        }
+
+        assertEquals(4_000, bitmap.cardinality());
+        assertFalse(bitmap.contains(5_999));
+        assertTrue(bitmap.contains(6_000));
+        assertEquals(2_000, bitmap.and(odd).cardinality());
+    }
+
+    @Test
+    void testWithoutLastValue_ReturnsEmpty() {
+        assertSame(CompressedBitmap.EMPTY, CompressedBitmap.of(7).without(7));
+        assertTrue(CompressedBitmap.EMPTY.isEmpty());
+    }
+
+    @Test
+    void testRandomOperations_MatchTreeSet() {
+        Random random = new Random(42);
+        for (int range : new int[]{20_000, 300_000}) {
+            CompressedBitmap first = CompressedBitmap.EMPTY;
+            CompressedBitmap second = CompressedBitmap.EMPTY;
+            TreeSet<Integer> firstExpected = new TreeSet<>();
+            TreeSet<Integer> secondExpected = new TreeSet<>();
+            for (int i = 0; i < 50_000; i++) {
+                int value = random.nextInt(range);
+                boolean add = random.nextInt(3) != 0;
+                if (random.nextBoolean()) {
+                    first = add ? first.with(value) : first.without(value);
+                    if (add) firstExpected.add(value); else firstExpected.remove(value);
+                } else {
+                    second = add ? second.with(value) : second.without(value);
+                    if (add) secondExpected.add(value); else secondExpected.remove(value);
+                }
+                assertEquals(firstExpected.contains(value), first.contains(value));
+            }
+            TreeSet<Integer> intersection = new TreeSet<>(firstExpected);
+            intersection.retainAll(secondExpected);
+
+            assertEquals(firstExpected.size(), first.cardinality());
+            List<Integer> values = new ArrayList<>();
+            first.and(second).forEach(values::add);
+            assertEquals(new ArrayList<>(intersection), values);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanagementapp.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashedTimingWheelTest {
+
+    private HashedTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HashedTimingWheel<>(1000, 8, 0);
+    }
+
+    @Test
+    void testAdvance_ReturnsOnlyPassedDeadlines() {
+        wheel.schedule("first", 1500);
+        wheel.schedule("second", 4200);
+
+        assertEquals(List.of(), wheel.advance(1400, 100));
+        assertEquals(List.of("first"), wheel.advance(2000, 100));
+        assertEquals(List.of("second"), wheel.advance(5000, 100));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_KeepsDeadlinesBeyondOneRevolution() {
+        wheel.schedule("later", 9500);
+
+        assertEquals(List.of(), wheel.advance(1600, 100));
+        assertEquals(List.of(), wheel.advance(8000, 100));
+        assertEquals(List.of("later"), wheel.advance(9600, 100));
+    }
+
+    @Test
+    void testAdvance_RespectsLimit() {
+        wheel.schedule("a", 100);
+        wheel.schedule("b", 200);
+        wheel.schedule("c", 300);
+
+        assertEquals(2, wheel.advance(1000, 2).size());
+        assertEquals(1, wheel.advance(1000, 2).size());
+        assertEquals(0, wheel.size());
+    }
+}
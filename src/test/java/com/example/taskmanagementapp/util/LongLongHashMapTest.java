@@ -0,0 +1,61 @@
+package com.example.taskmanagementapp.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongLongHashMapTest {
+
+    private LongLongHashMap map;
+
+    @BeforeEach
+    void setUp() {
+        map = new LongLongHashMap(4);
+    }
+
+    @Test
+    void testPutAndGet_NegativeKeysAndValues() {
+        map.put(-3, 7);
+        map.put(7, -3);
+
+        assertEquals(7, map.get(-3, 0));
+        assertEquals(-3, map.get(7, 0));
+        assertEquals(0, map.get(3, 0));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testPut_ReservedKey_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, 1));
+    }
+
+    @Test
+    void testRandomOperations_MatchHashMap() {
+        Random random = new Random(42);
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(80) - 40;
+            if (key == 0) {
+                continue;
+            }
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    long value = random.nextLong();
+                    map.put(key, value);
+                    expected.put(key, value);
+                }
+                case 1 -> {
+                    map.remove(key);
+                    expected.remove(key);
+                }
+                default -> assertEquals(expected.getOrDefault(key, 0L), map.get(key, 0));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanagementapp.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongPairIntHashMapTest {
+
+    private LongPairIntHashMap map;
+
+    @BeforeEach
+    void setUp() {
+        map = new LongPairIntHashMap(4);
+    }
+
+    @Test
+    void testPutAndGet_DistinguishesBothKeyParts() {
+        map.put(1, 2, 7);
+        map.put(2, 1, 9);
+
+        assertEquals(7, map.get(1, 2, -1));
+        assertEquals(9, map.get(2, 1, -1));
+        assertEquals(-1, map.get(1, 1, -1));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testPut_ReservedKey_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, 0, 1));
+    }
+
+    @Test
+    void testRandomOperations_MatchHashMap() {
+        Random random = new Random(42);
+        Map<List<Long>, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            long first = random.nextInt(40) + 1;
+            long second = random.nextInt(40);
+            List<Long> key = List.of(first, second);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    int value = random.nextInt();
+                    map.put(first, second, value);
+                    expected.put(key, value);
+                }
+                case 1 -> {
+                    map.remove(first, second);
+                    expected.remove(key);
+                }
+                default -> assertEquals(expected.getOrDefault(key, -1), map.get(first, second, -1));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+    }
+}
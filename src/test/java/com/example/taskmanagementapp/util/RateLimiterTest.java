@@ -0,0 +1,60 @@
+package com.example.taskmanagementapp.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new RateLimiter(10, Duration.ofSeconds(10), 3);
+    }
+
+    @Test
+    void testTryAcquire_AllowsBurstThenRejects() {
+        long now = 100 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("client", now));
+        }
+        long wait = rateLimiter.tryAcquire("client", now);
+        assertTrue(wait > 0 && wait <= SECOND);
+    }
+
+    @Test
+    void testTryAcquire_ReplenishesOverTime() {
+        long now = 100 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("client", now);
+        }
+        assertEquals(0, rateLimiter.tryAcquire("client", now + SECOND));
+        assertTrue(rateLimiter.tryAcquire("client", now + SECOND) > 0);
+    }
+
+    @Test
+    void testTryAcquire_KeepsKeysIndependent() {
+        long now = 100 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("first", now);
+        }
+        assertEquals(0, rateLimiter.tryAcquire("second", now));
+    }
+
+    @Test
+    void testEvictIdle_DropsRefilledBuckets() {
+        long now = 100 * SECOND;
+        rateLimiter.tryAcquire("client", now);
+        rateLimiter.evictIdle(now);
+        assertEquals(1, rateLimiter.size());
+        rateLimiter.evictIdle(now + SECOND);
+        assertEquals(0, rateLimiter.size());
+    }
+}
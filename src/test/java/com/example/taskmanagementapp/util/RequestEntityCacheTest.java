@@ -0,0 +1,62 @@
+package com.example.taskmanagementapp.util;
+
+import com.example.taskmanagementapp.model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestEntityCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testGet_WithinRequest_LoadsOnce() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        AtomicInteger loads = new AtomicInteger();
+        Task first = RequestEntityCache.get(Task.class, 1L, () -> load(loads, 1L));
+        Task second = RequestEntityCache.get(Task.class, 1L, () -> load(loads, 1L));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertSame(first, RequestEntityCache.peek(Task.class, 1L));
+    }
+
+    @Test
+    void testGet_OutsideRequest_AlwaysLoads() {
+        AtomicInteger loads = new AtomicInteger();
+        RequestEntityCache.get(Task.class, 1L, () -> load(loads, 1L));
+        RequestEntityCache.get(Task.class, 1L, () -> load(loads, 1L));
+
+        assertEquals(2, loads.get());
+        assertNull(RequestEntityCache.peek(Task.class, 1L));
+    }
+
+    @Test
+    void testEvict_DropsEntityAndAttributes() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        AtomicInteger loads = new AtomicInteger();
+        RequestEntityCache.get(Task.class, 1L, () -> load(loads, 1L));
+        RequestEntityCache.get(Task.class, 1L, "workspaceId", () -> 7L);
+        RequestEntityCache.get(Task.class, 2L, () -> load(loads, 2L));
+
+        RequestEntityCache.evict(Task.class, 1L);
+
+        assertNull(RequestEntityCache.peek(Task.class, 1L));
+        assertEquals(8L, RequestEntityCache.<Long>get(Task.class, 1L, "workspaceId", () -> 8L));
+        assertNotNull(RequestEntityCache.peek(Task.class, 2L));
+    }
+
+    private Task load(AtomicInteger loads, Long id) {
+        loads.incrementAndGet();
+        return Task.builder().id(id).build();
+    }
+}